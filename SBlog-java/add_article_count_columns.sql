@@ -0,0 +1,16 @@
+-- 添加已发布文章数列到 categories、tags 表，并按现有数据初始化
+-- 如果列已存在，执行 ALTER 语句会报错，可以忽略
+ALTER TABLE `categories`
+ADD COLUMN `article_count` INT NOT NULL DEFAULT 0 COMMENT '已发布文章数'
+AFTER `description`;
+
+ALTER TABLE `tags`
+ADD COLUMN `article_count` INT NOT NULL DEFAULT 0 COMMENT '已发布文章数'
+AFTER `name`;
+
+UPDATE `categories` c SET c.`article_count` =
+    (SELECT COUNT(*) FROM `articles` a WHERE a.`category_id` = c.`id` AND a.`status` = 'PUBLISHED');
+
+UPDATE `tags` t SET t.`article_count` =
+    (SELECT COUNT(*) FROM `article_tags` r JOIN `articles` a ON a.`id` = r.`article_id`
+     WHERE r.`tag_id` = t.`id` AND a.`status` = 'PUBLISHED');
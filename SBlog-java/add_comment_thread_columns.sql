@@ -0,0 +1,12 @@
+-- 添加评论回复树所需的列（顶层评论ID、物化路径），并初始化已有评论
+-- 如果列或索引已存在，执行对应语句会报错，可以忽略
+ALTER TABLE `comments`
+ADD COLUMN `root_id` BIGINT COMMENT '所属顶层评论ID' AFTER `parent_id`,
+ADD COLUMN `path` VARCHAR(255) COMMENT '物化路径（各级评论ID补零拼接）' AFTER `root_id`;
+
+-- 已有评论都是顶层评论
+UPDATE `comments` SET `root_id` = `id`, `path` = LPAD(`id`, 12, '0')
+WHERE `parent_id` IS NULL AND `path` IS NULL;
+
+CREATE INDEX `idx_article_top_level` ON `comments` (`article_id`, `status`, `parent_id`, `created_at`, `id`);
+CREATE INDEX `idx_thread_path` ON `comments` (`root_id`, `path`);
@@ -0,0 +1,14 @@
+-- 添加文章首次发布时间列、每日统计的访问次数列，并按现有数据初始化
+-- 如果列已存在，执行 ALTER 语句会报错，可以忽略
+ALTER TABLE `articles`
+ADD COLUMN `published_at` DATETIME COMMENT '首次发布时间'
+AFTER `updated_at`;
+
+-- 历史文章没有发布时间记录，按创建时间初始化
+UPDATE `articles` SET `published_at` = `created_at` WHERE `status` = 'PUBLISHED';
+
+ALTER TABLE `daily_stats`
+ADD COLUMN `visits` BIGINT NOT NULL DEFAULT 0 COMMENT '当天页面访问次数（仅全站合计行）'
+AFTER `messages_created`;
+
+-- 执行后在后台调用 POST /api/admin/dashboard/stats/rebuild 按新口径回填每日统计
@@ -0,0 +1,11 @@
+-- 添加用户搜索所需的规范化列（去空白、转小写）及索引，并初始化已有用户
+-- 如果列或索引已存在，执行对应语句会报错，可以忽略
+ALTER TABLE `users`
+ADD COLUMN `username_normalized` VARCHAR(50) COMMENT '规范化用户名（搜索用）' AFTER `username`,
+ADD COLUMN `email_normalized` VARCHAR(100) COMMENT '规范化邮箱（搜索用）' AFTER `email`;
+
+UPDATE `users` SET `username_normalized` = LOWER(TRIM(`username`)), `email_normalized` = LOWER(TRIM(`email`))
+WHERE `username_normalized` IS NULL;
+
+CREATE INDEX `idx_username_normalized` ON `users` (`username_normalized`, `id`);
+CREATE INDEX `idx_email_normalized` ON `users` (`email_normalized`, `id`);
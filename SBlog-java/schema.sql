@@ -7,15 +7,19 @@ DROP TABLE IF EXISTS `users`;
 CREATE TABLE `users` (
     `id` BIGINT AUTO_INCREMENT PRIMARY KEY COMMENT '用户ID',
     `username` VARCHAR(50) NOT NULL UNIQUE COMMENT '用户名',
+    `username_normalized` VARCHAR(50) COMMENT '规范化用户名（搜索用）',
     `password` VARCHAR(255) NOT NULL COMMENT '密码（加密）',
     `email` VARCHAR(100) UNIQUE COMMENT '邮箱',
+    `email_normalized` VARCHAR(100) COMMENT '规范化邮箱（搜索用）',
     `avatar` VARCHAR(500) COMMENT '头像URL',
     `role` VARCHAR(20) NOT NULL DEFAULT 'USER' COMMENT '角色：USER/ADMIN',
     `status` VARCHAR(20) NOT NULL DEFAULT 'active' COMMENT '状态：active/inactive',
     `created_at` DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
     `updated_at` DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
     INDEX `idx_username` (`username`),
-    INDEX `idx_email` (`email`)
+    INDEX `idx_email` (`email`),
+    INDEX `idx_username_normalized` (`username_normalized`, `id`),
+    INDEX `idx_email_normalized` (`email_normalized`, `id`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='用户表';
 
 -- 2. 分类表
@@ -24,6 +28,7 @@ CREATE TABLE `categories` (
     `id` BIGINT AUTO_INCREMENT PRIMARY KEY COMMENT '分类ID',
     `name` VARCHAR(50) NOT NULL UNIQUE COMMENT '分类名称',
     `description` VARCHAR(200) COMMENT '分类描述',
+    `article_count` INT NOT NULL DEFAULT 0 COMMENT '已发布文章数',
     `created_at` DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
     `updated_at` DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
     INDEX `idx_name` (`name`)
@@ -34,6 +39,7 @@ DROP TABLE IF EXISTS `tags`;
 CREATE TABLE `tags` (
     `id` BIGINT AUTO_INCREMENT PRIMARY KEY COMMENT '标签ID',
     `name` VARCHAR(50) NOT NULL UNIQUE COMMENT '标签名称',
+    `article_count` INT NOT NULL DEFAULT 0 COMMENT '已发布文章数',
     `created_at` DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
     `updated_at` DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
     INDEX `idx_name` (`name`)
@@ -55,12 +61,14 @@ CREATE TABLE `articles` (
     `author_id` BIGINT COMMENT '作者ID',
     `created_at` DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
     `updated_at` DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+    `published_at` DATETIME COMMENT '首次发布时间',
     FOREIGN KEY (`category_id`) REFERENCES `categories`(`id`) ON DELETE SET NULL,
     FOREIGN KEY (`author_id`) REFERENCES `users`(`id`) ON DELETE SET NULL,
     INDEX `idx_title` (`title`),
     INDEX `idx_category` (`category_id`),
     INDEX `idx_status` (`status`),
     INDEX `idx_created_at` (`created_at`),
+    INDEX `idx_status_created_at` (`status`, `created_at`, `id`),
     INDEX `idx_author` (`author_id`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='文章表';
 
@@ -84,6 +92,8 @@ CREATE TABLE `comments` (
     `email` VARCHAR(100) COMMENT '评论者邮箱',
     `article_id` BIGINT NOT NULL COMMENT '文章ID',
     `parent_id` BIGINT COMMENT '父评论ID（用于回复）',
+    `root_id` BIGINT COMMENT '所属顶层评论ID',
+    `path` VARCHAR(255) COMMENT '物化路径（各级评论ID补零拼接）',
     `status` VARCHAR(20) NOT NULL DEFAULT 'pending' COMMENT '状态：pending/approved/spam',
     `ip` VARCHAR(50) COMMENT 'IP地址',
     `user_agent` VARCHAR(500) COMMENT '用户代理',
@@ -93,7 +103,9 @@ CREATE TABLE `comments` (
     FOREIGN KEY (`parent_id`) REFERENCES `comments`(`id`) ON DELETE CASCADE,
     INDEX `idx_article` (`article_id`),
     INDEX `idx_status` (`status`),
-    INDEX `idx_created_at` (`created_at`)
+    INDEX `idx_created_at` (`created_at`),
+    INDEX `idx_article_top_level` (`article_id`, `status`, `parent_id`, `created_at`, `id`),
+    INDEX `idx_thread_path` (`root_id`, `path`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='评论表';
 
 -- 7. 留言表
@@ -124,13 +136,40 @@ CREATE TABLE `settings` (
     INDEX `idx_key` (`key`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='系统设置表';
 
+-- 9. 每日统计表（仪表盘使用，category_id = 0 为全站合计）
+DROP TABLE IF EXISTS `daily_stats`;
+CREATE TABLE `daily_stats` (
+    `id` BIGINT AUTO_INCREMENT PRIMARY KEY COMMENT '统计ID',
+    `stat_date` DATE NOT NULL COMMENT '统计日期',
+    `category_id` BIGINT NOT NULL DEFAULT 0 COMMENT '分类ID，0 表示全站合计',
+    `articles_published` BIGINT NOT NULL DEFAULT 0 COMMENT '当天发布（按首次发布日期）的文章数',
+    `comments_created` BIGINT NOT NULL DEFAULT 0 COMMENT '当天新增评论数',
+    `views` BIGINT NOT NULL DEFAULT 0 COMMENT '当天浏览量',
+    `messages_created` BIGINT NOT NULL DEFAULT 0 COMMENT '当天新增留言数',
+    `visits` BIGINT NOT NULL DEFAULT 0 COMMENT '当天页面访问次数（仅全站合计行）',
+    UNIQUE KEY `uk_stat_date_category` (`stat_date`, `category_id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='每日统计表';
+
+-- 10. 访问日志表
+DROP TABLE IF EXISTS `visit_logs`;
+CREATE TABLE `visit_logs` (
+    `id` BIGINT AUTO_INCREMENT PRIMARY KEY COMMENT '日志ID',
+    `path` VARCHAR(255) NOT NULL COMMENT '访问路径',
+    `article_id` BIGINT COMMENT '文章ID（文章详情页）',
+    `ip_hash` VARCHAR(16) COMMENT '加盐后的IP摘要',
+    `ua_class` VARCHAR(10) COMMENT '客户端类型：desktop/mobile/bot/other',
+    `visited_at` DATETIME NOT NULL COMMENT '访问时间',
+    INDEX `idx_visited_at` (`visited_at`),
+    INDEX `idx_article_id` (`article_id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='访问日志表';
+
 -- ============================================
 -- 初始化数据
 -- ============================================
 
 -- 插入默认管理员账户（密码：admin123，使用BCrypt加密）
-INSERT INTO `users` (`username`, `password`, `email`, `role`) VALUES
-('admin', '$2a$10$N.zmdr9k7uOCQb376NoUnuTJ8iAt6Z5EHsM8lE9lBOsl7iKTVKIUi', 'admin@sblog.com', 'ADMIN');
+INSERT INTO `users` (`username`, `username_normalized`, `password`, `email`, `email_normalized`, `role`) VALUES
+('admin', 'admin', '$2a$10$N.zmdr9k7uOCQb376NoUnuTJ8iAt6Z5EHsM8lE9lBOsl7iKTVKIUi', 'admin@sblog.com', 'admin@sblog.com', 'ADMIN');
 
 -- 插入默认分类
 INSERT INTO `categories` (`name`, `description`) VALUES
@@ -5,7 +5,9 @@ import com.sblogjava.Dto.RoleDto;
 import com.sblogjava.Dto.UserDto;
 import com.sblogjava.Dto.UserPageResult;
 import com.sblogjava.common.Result;
+import com.sblogjava.common.ServiceBusyException;
 import com.sblogjava.service.AdminUserService;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
 
@@ -26,11 +28,31 @@ public class AdminUserController {
         return Result.success(adminUserService.getUsers(page, pageSize, keyword));
     }
 
+    /**
+     * 用户搜索：按用户名（关键字含 @ 时按邮箱）前缀匹配，游标分页
+     * @param cursor 上一页返回的 nextCursor，第一页不传
+     */
+    @GetMapping("/search")
+    public Result<UserPageResult> search(
+            @RequestParam(required = false) String keyword,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") Integer pageSize) {
+        try {
+            return Result.success(adminUserService.searchUsers(keyword, cursor, Math.min(Math.max(pageSize, 1), 100)));
+        } catch (RuntimeException e) {
+            return Result.error(e.getMessage());
+        }
+    }
+
     @PostMapping
-    public Result<Void> create(@RequestBody AdminUserRequest request) {
+    public Result<Void> create(@RequestBody AdminUserRequest request, HttpServletResponse response) {
         try {
             adminUserService.createUser(request);
             return Result.success("创建成功", null);
+        } catch (ServiceBusyException e) {
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.setHeader("Retry-After", "1");
+            return Result.error(503, e.getMessage());
         } catch (RuntimeException e) {
             return Result.error(e.getMessage());
         }
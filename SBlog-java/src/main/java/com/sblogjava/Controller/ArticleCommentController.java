@@ -3,7 +3,9 @@ package com.sblogjava.Controller;
 import com.sblogjava.Dto.CommentCreateRequest;
 import com.sblogjava.Dto.CommentPageResult;
 import com.sblogjava.common.Result;
+import com.sblogjava.service.CommentFloodGuard;
 import com.sblogjava.service.CommentService;
+import com.sblogjava.util.IpUtil;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
@@ -15,6 +17,9 @@ public class ArticleCommentController {
     @Autowired
     private CommentService commentService;
 
+    @Autowired
+    private CommentFloodGuard commentFloodGuard;
+
     /**
      * 前台 - 提交评论
      * 不需要登录，允许访客评论
@@ -29,8 +34,17 @@ public class ArticleCommentController {
             request.setArticleId(id);
 
             // 获取访客IP
-            String ip = getClientIp(httpRequest);
-            commentService.createComment(request, ip);
+            String ip = IpUtil.getClientIp(httpRequest);
+            // 频率和重复内容检查（在内存中完成，不开启事务）
+            CommentFloodGuard.Submission submission = commentFloodGuard.check(id, ip, request.getContent());
+            try {
+                commentService.createComment(request, ip);
+            } catch (RuntimeException e) {
+                // 提交失败（回复目标无效、数据库错误等）不占用频率限额，也不记录内容，允许修改后重试
+                commentFloodGuard.failed(submission);
+                throw e;
+            }
+            commentFloodGuard.succeeded(submission);
 
             return Result.success("评论发表成功！", null);
         } catch (RuntimeException e) {
@@ -40,33 +54,19 @@ public class ArticleCommentController {
 
     /**
      * 前台 - 获取文章的已审核评论
-     * 只返回 status = APPROVED 的评论
+     * 只返回 status = APPROVED 的评论，按顶层评论游标分页，每条顶层评论附带完整的回复树
+     * @param cursor 上一页返回的 nextCursor，第一页不传
      */
     @GetMapping("/{id}/comments")
-    public Result<CommentPageResult> getApprovedComments(@PathVariable Long id) {
+    public Result<CommentPageResult> getApprovedComments(
+            @PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") Integer pageSize) {
         try {
-            CommentPageResult result = commentService.getApprovedComments(id);
+            CommentPageResult result = commentService.getApprovedComments(id, cursor, Math.min(Math.max(pageSize, 1), 50));
             return Result.success(result);
         } catch (RuntimeException e) {
             return Result.error(e.getMessage());
         }
     }
-
-    /**
-     * 获取客户端真实IP
-     */
-    private String getClientIp(HttpServletRequest request) {
-        String ip = request.getHeader("X-Forwarded-For");
-        if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
-            ip = request.getHeader("X-Real-IP");
-        }
-        if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
-            ip = request.getRemoteAddr();
-        }
-        // 处理多个IP的情况（X-Forwarded-For可能包含多个IP）
-        if (ip != null && ip.contains(",")) {
-            ip = ip.split(",")[0].trim();
-        }
-        return ip;
-    }
 }
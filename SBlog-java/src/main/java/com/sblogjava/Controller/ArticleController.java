@@ -3,8 +3,10 @@ package com.sblogjava.Controller;
 import com.sblogjava.Dto.ArticleDto;
 import com.sblogjava.Dto.ArticlePageResult;
 import com.sblogjava.Dto.ArticleRequest;
+import com.sblogjava.Dto.ArticleStatsDto;
 import com.sblogjava.common.Result;
 import com.sblogjava.service.ArticleService;
+import com.sblogjava.service.UniqueVisitorService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
 
@@ -17,6 +19,9 @@ public class ArticleController {
     @Autowired
     private ArticleService articleService;
 
+    @Autowired
+    private UniqueVisitorService uniqueVisitorService;
+
     @GetMapping
     public Result<ArticlePageResult> list(
             @RequestParam(defaultValue = "1") Integer page,
@@ -35,6 +40,22 @@ public class ArticleController {
         }
     }
 
+    /**
+     * 获取文章访问统计（浏览量、独立访客数）
+     */
+    @GetMapping("/{id}/stats")
+    public Result<ArticleStatsDto> getStats(@PathVariable Long id) {
+        try {
+            ArticleStatsDto stats = new ArticleStatsDto();
+            stats.setArticleId(id);
+            stats.setViews(articleService.getById(id).getViews());
+            stats.setUniqueVisitors(uniqueVisitorService.getArticleUniqueVisitors(id));
+            return Result.success(stats);
+        } catch (RuntimeException e) {
+            return Result.error(e.getMessage());
+        }
+    }
+
     @PostMapping
     public Result<Void> create(@RequestBody ArticleRequest request) {
         try {
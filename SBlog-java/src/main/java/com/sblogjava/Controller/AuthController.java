@@ -2,10 +2,15 @@ package com.sblogjava.Controller;
 
 import com.sblogjava.Dto.PasswordChangeRequest;
 import com.sblogjava.common.Result;
+import com.sblogjava.common.ServiceBusyException;
+import com.sblogjava.interceptor.AuthUser;
+import com.sblogjava.interceptor.CurrentUser;
 import com.sblogjava.service.AuthService;
+import com.sblogjava.service.LoginThrottleService;
+import com.sblogjava.util.IpUtil;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -15,19 +20,29 @@ public class AuthController {
     @Autowired
     private AuthService authService;
 
+    @Autowired
+    private LoginThrottleService loginThrottleService;
+
     @PutMapping("/password")
-    public Result<Void> changePassword(@RequestBody PasswordChangeRequest request) {
+    public Result<Void> changePassword(@RequestBody PasswordChangeRequest request,
+                                       @CurrentUser AuthUser currentUser,
+                                       HttpServletRequest httpRequest, HttpServletResponse response) {
         try {
-            // 从安全上下文获取当前用户名
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            String username = authentication != null ? authentication.getName() : null;
+            // 当前用户由 Token 拦截器解析
+            String username = currentUser != null ? currentUser.username() : null;
 
             if (username == null) {
                 return Result.error(401, "未登录");
             }
 
+            // 旧密码校验同样需要计算哈希，先限制尝试频率
+            loginThrottleService.check(username, IpUtil.getClientIp(httpRequest));
             authService.changePassword(username, request);
             return Result.success("密码修改成功", null);
+        } catch (ServiceBusyException e) {
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.setHeader("Retry-After", "1");
+            return Result.error(503, e.getMessage());
         } catch (RuntimeException e) {
             return Result.error(e.getMessage());
         }
@@ -1,5 +1,6 @@
 package com.sblogjava.Controller;
 
+import com.sblogjava.Dto.BulkModerationRequest;
 import com.sblogjava.Dto.CommentDto;
 import com.sblogjava.Dto.CommentPageResult;
 import com.sblogjava.Dto.ReplyRequest;
@@ -34,6 +35,20 @@ public class CommentController {
         }
     }
 
+    /**
+     * 批量审核、标记垃圾评论或删除
+     * 按 ids 或筛选条件（如所有 30 天前的垃圾评论）处理，删除时一并删除回复
+     */
+    @PostMapping("/bulk")
+    public Result<Integer> bulk(@RequestBody BulkModerationRequest request) {
+        try {
+            int affected = commentService.bulkModerate(request);
+            return Result.success("已处理 " + affected + " 条评论", affected);
+        } catch (RuntimeException e) {
+            return Result.error(e.getMessage());
+        }
+    }
+
     @DeleteMapping("/{id}")
     public Result<Void> delete(@PathVariable Long id) {
         try {
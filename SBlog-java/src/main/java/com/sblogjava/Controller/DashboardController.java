@@ -4,8 +4,12 @@ import com.sblogjava.Dto.DashboardDto;
 import com.sblogjava.Dto.DashboardChartData;
 import com.sblogjava.common.Result;
 import com.sblogjava.service.DashboardService;
+import com.sblogjava.service.DashboardStreamService;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping("/api/admin")
@@ -14,6 +18,9 @@ public class DashboardController {
     @Autowired
     private DashboardService dashboardService;
 
+    @Autowired
+    private DashboardStreamService dashboardStreamService;
+
     @GetMapping("/dashboard")
     public Result<DashboardDto> getDashboard() {
         return Result.success(dashboardService.getDashboard());
@@ -29,4 +36,40 @@ public class DashboardController {
             @RequestParam(defaultValue = "7") int days) {
         return Result.success(dashboardService.getChartData(days));
     }
+
+    /**
+     * 获取实时推送的连接令牌（一次性，短期有效）
+     */
+    @PostMapping("/dashboard/stream-token")
+    public Result<String> streamToken() {
+        try {
+            return Result.success(dashboardStreamService.issueToken());
+        } catch (RuntimeException e) {
+            return Result.error(e.getMessage());
+        }
+    }
+
+    /**
+     * 仪表盘实时数据推送（SSE）
+     * 先通过 /dashboard 获取完整数据，之后接收 delta 事件（浏览量、评论数、留言数、文章数的增量）
+     * EventSource 不能设置请求头，不经过 Token 拦截器，使用 /dashboard/stream-token 获取的令牌验证
+     * @param token 连接令牌
+     */
+    @GetMapping(value = "/dashboard/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestParam(required = false) String token, HttpServletResponse response) {
+        if (!dashboardStreamService.consumeToken(token)) {
+            response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+            return null;
+        }
+        return dashboardStreamService.subscribe();
+    }
+
+    /**
+     * 重新统计每日数据（文章、评论、留言数）
+     */
+    @PostMapping("/dashboard/stats/rebuild")
+    public Result<Void> rebuildDailyStats() {
+        dashboardService.rebuildDailyStats();
+        return Result.success();
+    }
 }
@@ -1,5 +1,6 @@
 package com.sblogjava.Controller;
 
+import com.sblogjava.Dto.BulkModerationRequest;
 import com.sblogjava.Dto.MessageDto;
 import com.sblogjava.Dto.MessagePageResult;
 import com.sblogjava.Dto.MessageReplyRequest;
@@ -33,6 +34,20 @@ public class MessageController {
         }
     }
 
+    /**
+     * 批量修改回复状态或删除留言
+     * 按 ids 或筛选条件（如所有 30 天前的已回复留言）处理
+     */
+    @PostMapping("/bulk")
+    public Result<Integer> bulk(@RequestBody BulkModerationRequest request) {
+        try {
+            int affected = messageService.bulkModerate(request);
+            return Result.success("已处理 " + affected + " 条留言", affected);
+        } catch (RuntimeException e) {
+            return Result.error(e.getMessage());
+        }
+    }
+
     @DeleteMapping("/{id}")
     public Result<Void> delete(@PathVariable Long id) {
         try {
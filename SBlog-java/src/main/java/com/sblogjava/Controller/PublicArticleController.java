@@ -2,11 +2,17 @@ package com.sblogjava.Controller;
 
 import com.sblogjava.Dto.ArticleDto;
 import com.sblogjava.Dto.ArticlePageResult;
+import com.sblogjava.Dto.ArticleSummaryDto;
 import com.sblogjava.common.Result;
 import com.sblogjava.service.ArticleService;
+import com.sblogjava.service.UniqueVisitorService;
+import com.sblogjava.util.IpUtil;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 /**
  * 前台公开文章接口（不需要登录）
  */
@@ -17,9 +23,13 @@ public class PublicArticleController {
     @Autowired
     private ArticleService articleService;
 
+    @Autowired
+    private UniqueVisitorService uniqueVisitorService;
+
     /**
      * 获取已发布文章列表（支持搜索、分类筛选、标签筛选）
      * 前台首页、搜索页面使用
+     * 传入 cursor 参数（第一页传空字符串）时使用游标分页：不返回总数，通过 nextCursor 获取下一页
      */
     @GetMapping
     public Result<ArticlePageResult> list(
@@ -27,10 +37,20 @@ public class PublicArticleController {
             @RequestParam(defaultValue = "10") Integer pageSize,
             @RequestParam(required = false) String keyword,
             @RequestParam(required = false) Long categoryId,
-            @RequestParam(required = false) Long tagId) {
+            @RequestParam(required = false) Long tagId,
+            @RequestParam(required = false) String cursor) {
         // 固定只返回已发布的文章
         String status = "published";
 
+        // 游标分页（关键词搜索按相关度排序，不支持游标）
+        if (cursor != null && (keyword == null || keyword.isEmpty())) {
+            try {
+                return Result.success(articleService.getArticlesByCursor(pageSize, status, categoryId, tagId, cursor));
+            } catch (RuntimeException e) {
+                return Result.error(e.getMessage());
+            }
+        }
+
         // 如果有分类或标签筛选，使用专门的筛选方法
         if (categoryId != null || tagId != null) {
             return Result.success(articleService.getArticlesByCategoryAndTag(page, pageSize, status, categoryId, tagId));
@@ -40,22 +60,45 @@ public class PublicArticleController {
         return Result.success(articleService.getArticles(page, pageSize, status, keyword));
     }
 
+    /**
+     * 获取热门文章（按时间窗口内的访问量排序）
+     * @param window 时间窗口：24h 或 7d
+     */
+    @GetMapping("/trending")
+    public Result<List<ArticleSummaryDto>> trending(
+            @RequestParam(defaultValue = "24h") String window,
+            @RequestParam(defaultValue = "10") Integer limit) {
+        try {
+            return Result.success(articleService.getTrendingArticles(window, Math.min(Math.max(limit, 1), 50)));
+        } catch (RuntimeException e) {
+            return Result.error(e.getMessage());
+        }
+    }
+
     /**
      * 获取文章详情（前台）
      */
     @GetMapping("/{id}")
-    public Result<ArticleDto> getById(@PathVariable Long id) {
+    public Result<ArticleDto> getById(@PathVariable Long id, HttpServletRequest request) {
         try {
-            // 增加访问量
-            articleService.incrementViews(id);
-            ArticleDto article = articleService.getById(id);
             // 前台只能查看已发布的文章
-            if (!"published".equals(article.getStatus())) {
-                return Result.error("文章不存在");
-            }
+            ArticleDto article = articleService.getPublishedById(id);
+            // 增加访问量（内存计数，返回结果同步加一）
+            articleService.incrementViews(id);
+            article.setViews(article.getViews() + 1);
+            // 记录独立访客
+            uniqueVisitorService.record(id, IpUtil.getClientIp(request));
             return Result.success(article);
         } catch (RuntimeException e) {
             return Result.error(e.getMessage());
         }
     }
+
+    /**
+     * 获取相关文章（前台文章详情页使用）
+     */
+    @GetMapping("/{id}/related")
+    public Result<List<ArticleSummaryDto>> getRelated(@PathVariable Long id) {
+        return Result.success(articleService.getRelatedArticles(id));
+    }
 }
@@ -5,9 +5,16 @@ import com.sblogjava.Dto.LoginResponse;
 import com.sblogjava.Dto.RegisterRequest;
 import com.sblogjava.Dto.UserDto;
 import com.sblogjava.common.Result;
+import com.sblogjava.common.ServiceBusyException;
 import com.sblogjava.convert.UserConvert;
 import com.sblogjava.dao.User;
+import com.sblogjava.interceptor.AuthUser;
+import com.sblogjava.interceptor.CurrentUser;
+import com.sblogjava.service.LoginThrottleService;
 import com.sblogjava.service.UserService;
+import com.sblogjava.util.IpUtil;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
 
@@ -19,6 +26,9 @@ public class UserController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private LoginThrottleService loginThrottleService;
+
     @GetMapping("/find/{id}")
     public Result<UserDto> getUser(@PathVariable long id) {
         Optional<UserDto> userDto = userService.findByid(id);
@@ -27,20 +37,33 @@ public class UserController {
     }
 
     @PostMapping("/register")
-    public Result<Void> register(@RequestBody RegisterRequest registerRequest) {
+    public Result<Void> register(@RequestBody RegisterRequest registerRequest, HttpServletResponse response) {
         try {
             userService.register(registerRequest);
             return Result.success("注册成功", null);
+        } catch (ServiceBusyException e) {
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.setHeader("Retry-After", "1");
+            return Result.error(503, e.getMessage());
         } catch (RuntimeException e) {
             return Result.error(e.getMessage());
         }
     }
 
     @PostMapping("/login")
-    public Result<LoginResponse> login(@RequestBody LoginRequest loginRequest) {
+    public Result<LoginResponse> login(@RequestBody LoginRequest loginRequest,
+                                       HttpServletRequest request, HttpServletResponse response) {
         try {
+            // 按 IP 和（用户名, IP）限制尝试频率（在计算密码哈希之前）
+            String ip = IpUtil.getClientIp(request);
+            loginThrottleService.check(loginRequest.getUsername(), ip);
             LoginResponse loginResponse = userService.login(loginRequest);
+            loginThrottleService.reset(loginRequest.getUsername(), ip);
             return Result.success("登录成功", loginResponse);
+        } catch (ServiceBusyException e) {
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.setHeader("Retry-After", "1");
+            return Result.error(503, e.getMessage());
         } catch (RuntimeException e) {
             return Result.error(e.getMessage());
         }
@@ -61,11 +84,13 @@ public class UserController {
      * 退出登录
      */
     @PostMapping("/logout")
-    public Result<Void> logout(@RequestHeader("Authorization") String authorization) {
+    public Result<Void> logout(@CurrentUser AuthUser currentUser) {
+        if (currentUser == null) {
+            return Result.error(401, "未登录");
+        }
         try {
-            // 提取 token（去掉 "Bearer " 前缀）
-            String token = authorization.replace("Bearer ", "");
-            userService.logout(token);
+            // Token 已由拦截器验证，直接注销对应的会话
+            userService.logout(currentUser.userId(), currentUser.sessionId());
             return Result.success("退出成功", null);
         } catch (Exception e) {
             return Result.error(e.getMessage());
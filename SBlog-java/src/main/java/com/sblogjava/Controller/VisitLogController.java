@@ -0,0 +1,29 @@
+package com.sblogjava.Controller;
+
+import com.sblogjava.Dto.VisitRecordRequest;
+import com.sblogjava.common.Result;
+import com.sblogjava.service.VisitLogService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * 访问日志接口
+ */
+@RestController
+@RequestMapping("/api/admin/visit-log")
+public class VisitLogController {
+
+    @Autowired
+    private VisitLogService visitLogService;
+
+    /**
+     * 前台路由切换时上报访问（不需要登录）
+     * 只放入内存队列，由后台批量写入
+     */
+    @PostMapping("/record")
+    public Result<Void> record(@RequestBody VisitRecordRequest request, HttpServletRequest httpRequest) {
+        visitLogService.record(request.getPath(), httpRequest);
+        return Result.success();
+    }
+}
@@ -8,7 +8,8 @@ import java.util.List;
 public class ArticleDto {
     private Long id;
     private String title;
-    private String content;
+    private String content;      // Markdown 原文（后台编辑用，前台详情不返回）
+    private String contentHtml;  // 服务端渲染的正文 HTML（仅前台详情返回）
     private String summary;
     private String cover;
     private Long categoryId;
@@ -7,5 +7,6 @@ import java.util.List;
 @Data
 public class ArticlePageResult {
     private Long total;
-    private List<ArticleDto> list;
+    private List<ArticleSummaryDto> list;
+    private String nextCursor;  // 游标分页时下一页的游标，没有更多数据时为 null
 }
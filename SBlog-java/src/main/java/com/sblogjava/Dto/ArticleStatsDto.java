@@ -0,0 +1,10 @@
+package com.sblogjava.Dto;
+
+import lombok.Data;
+
+@Data
+public class ArticleStatsDto {
+    private Long articleId;
+    private Integer views;           // 浏览量（含未回写的部分）
+    private Long uniqueVisitors;     // 累计独立访客数（估计值）
+}
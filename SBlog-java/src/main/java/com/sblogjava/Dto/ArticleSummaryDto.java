@@ -0,0 +1,26 @@
+package com.sblogjava.Dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 文章列表项（不包含正文，正文只由详情接口返回）
+ */
+@Data
+public class ArticleSummaryDto {
+    private Long id;
+    private String title;
+    private String summary;
+    private String cover;
+    private Long categoryId;
+    private String categoryName;
+    private List<String> tags;  // 标签名称（用于显示）
+    private List<Long> tagIds;   // 标签ID（用于编辑）
+    private String status;
+    private Integer views;
+    private Integer comments;
+    private Boolean allowComment;
+    private String createdAt;
+    private String updatedAt;
+}
@@ -0,0 +1,19 @@
+package com.sblogjava.Dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 批量审核请求
+ * 指定 ids 时只处理这些记录；否则按筛选条件（status、olderThanDays、articleId）处理所有匹配的记录
+ */
+@Data
+public class BulkModerationRequest {
+    // 评论：approve / spam / pending / delete；留言：replied / pending / delete
+    private String action;
+    private List<Long> ids;
+    private String status;          // 筛选：当前状态
+    private Integer olderThanDays;  // 筛选：创建时间早于 N 天前
+    private Long articleId;         // 筛选：所属文章（仅评论）
+}
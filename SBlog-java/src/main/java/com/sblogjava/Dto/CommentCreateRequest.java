@@ -8,4 +8,5 @@ public class CommentCreateRequest {
     private String content;
     private String email;
     private Long articleId;
+    private Long parentId;   // 回复的评论ID，发表顶层评论时为空
 }
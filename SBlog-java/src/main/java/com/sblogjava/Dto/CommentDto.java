@@ -2,6 +2,8 @@ package com.sblogjava.Dto;
 
 import lombok.Data;
 
+import java.util.List;
+
 @Data
 public class CommentDto {
     private Long id;
@@ -13,4 +15,6 @@ public class CommentDto {
     private String status;
     private String ip;
     private String createdAt;
+    private Long parentId;             // 父评论ID，顶层评论为 null
+    private List<CommentDto> replies;  // 前台：下级回复（树形）
 }
@@ -8,4 +8,5 @@ import java.util.List;
 public class CommentPageResult {
     private Long total;
     private List<CommentDto> list;
+    private String nextCursor;  // 游标分页时下一页的游标，没有更多数据时为 null
 }
@@ -0,0 +1,26 @@
+package com.sblogjava.Dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class DashboardChartData {
+    private List<TrendData> trendData;
+    private List<CategoryStat> categoryStats;
+
+    @Data
+    public static class TrendData {
+        private String date;
+        private Long articleCount;
+        private Long commentCount;
+        private Long viewCount;
+        private Long messageCount;
+    }
+
+    @Data
+    public static class CategoryStat {
+        private String name;
+        private Long count;
+    }
+}
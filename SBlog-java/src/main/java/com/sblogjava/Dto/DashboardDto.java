@@ -6,13 +6,16 @@ import java.util.List;
 
 @Data
 public class DashboardDto {
-    private Long articleCount;
+    private Long articleCount;  // 已发布文章数（与实时推送的 articles 增量口径一致）
     private Long draftCount;
     private Long commentCount;
     private Long messageCount;
     private Long userCount;
     private Long viewCount;
     private Long todayViews;
+    private Long todayVisits;  // 今日前台页面访问次数（每日统计）
+    private Long todayUv;      // 今日独立访客数（估计值）
+    private Long weekUv;       // 最近 7 天独立访客数（估计值，多天去重）
     private List<RecentArticle> recentArticles;
 
     @Data
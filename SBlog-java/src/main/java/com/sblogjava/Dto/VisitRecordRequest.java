@@ -0,0 +1,10 @@
+package com.sblogjava.Dto;
+
+import lombok.Data;
+
+@Data
+public class VisitRecordRequest {
+    private String path;
+    private String fullPath;
+    private String referrer;
+}
@@ -0,0 +1,11 @@
+package com.sblogjava.common;
+
+/**
+ * 服务繁忙（处理队列已满或等待超时），由控制器转换为 503 响应
+ */
+public class ServiceBusyException extends RuntimeException {
+
+    public ServiceBusyException(String message) {
+        super(message);
+    }
+}
@@ -14,6 +14,9 @@ public class FileUploadConfig implements WebMvcConfigurer {
     @Value("${upload.path:C:/sblog/uploads}")
     private String uploadPath;
 
+    @Value("${snapshot.path:C:/sblog/snapshots}")
+    private String snapshotPath;
+
     @PostConstruct
     public void init() {
         // 确保上传目录存在
@@ -21,6 +24,11 @@ public class FileUploadConfig implements WebMvcConfigurer {
         if (!uploadDir.exists()) {
             uploadDir.mkdirs();
         }
+        // 确保静态快照目录存在
+        File snapshotDir = new File(snapshotPath);
+        if (!snapshotDir.exists()) {
+            snapshotDir.mkdirs();
+        }
     }
 
     @Override
@@ -28,5 +36,9 @@ public class FileUploadConfig implements WebMvcConfigurer {
         // 配置静态资源映射，让 /uploads/** 映射到上传目录
         registry.addResourceHandler("/uploads/**")
                 .addResourceLocations("file:" + uploadPath + "/");
+
+        // 文章静态快照，由 SnapshotPublisher 生成（生产环境建议由反向代理直接提供）
+        registry.addResourceHandler("/snapshots/**")
+                .addResourceLocations("file:" + snapshotPath + "/");
     }
 }
@@ -1,13 +1,17 @@
 package com.sblogjava.config;
 
+import com.sblogjava.interceptor.CurrentUserArgumentResolver;
 import com.sblogjava.interceptor.RateLimitInterceptor;
 import com.sblogjava.interceptor.TokenInterceptor;
 import com.sblogjava.interceptor.VisitLogInterceptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import java.util.List;
+
 /**
  * Web 配置类
  */
@@ -23,6 +27,9 @@ public class WebConfig implements WebMvcConfigurer {
     @Autowired
     private RateLimitInterceptor rateLimitInterceptor;
 
+    @Autowired
+    private CurrentUserArgumentResolver currentUserArgumentResolver;
+
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
         // 限流拦截器 - 对所有API请求进行限流
@@ -47,6 +54,7 @@ public class WebConfig implements WebMvcConfigurer {
                         "/js/**",
                         "/images/**",
                         "/favicon.ico",
+                        "/snapshots/**",     // 静态快照
                         "/error"
                 )
                 .order(2);
@@ -59,8 +67,15 @@ public class WebConfig implements WebMvcConfigurer {
                         "/api/admin/users/register",  // 注册接口
                         "/api/admin/users/check-username",  // 检查用户名接口
                         "/api/admin/init/**",         // 初始化接口
+                        "/api/admin/dashboard/stream", // 仪表盘实时推送（使用一次性令牌验证）
                         "/api/admin/visit-log/record" // 访问日志记录接口（允许未登录用户访问）
                 )
                 .order(3);
     }
+
+    @Override
+    public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+        // 当前登录用户 - 读取 Token 拦截器保存的结果
+        resolvers.add(currentUserArgumentResolver);
+    }
 }
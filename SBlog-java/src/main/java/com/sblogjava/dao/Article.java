@@ -7,7 +7,9 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "articles")
+@Table(name = "articles", indexes = {
+        @Index(name = "idx_status_created_at", columnList = "status, created_at, id")
+})
 @Data
 public class Article {
     @Id
@@ -26,7 +28,7 @@ public class Article {
     @Column(length = 500)
     private String cover;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id")
     private Category category;
 
@@ -42,8 +44,11 @@ public class Article {
     @Column(nullable = false)
     private ArticleStatus status = ArticleStatus.DRAFT;
 
+    // 浏览量、评论数只通过 ArticleRepository 的计数语句维护，保存文章时不会覆盖
+    @Column(updatable = false)
     private Integer views = 0;
 
+    @Column(updatable = false)
     private Integer comments = 0;
 
     @Column(name = "allow_comment")
@@ -52,18 +57,23 @@ public class Article {
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
+    // 首次发布时间，撤回后再次发布保持不变；每日统计按此日期计入发布数
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;
+
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
     @PrePersist
     protected void onCreate() {
-        createdAt = LocalDateTime.now();
-        updatedAt = LocalDateTime.now();
+        // 截断到秒，与数据库 DATETIME 精度一致
+        createdAt = LocalDateTime.now().withNano(0);
+        updatedAt = createdAt;
     }
 
     @PreUpdate
     protected void onUpdate() {
-        updatedAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now().withNano(0);
     }
 
     public enum ArticleStatus {
@@ -0,0 +1,10 @@
+package com.sblogjava.dao;
+
+/**
+ * 文章与分类的关联投影（按分类汇总浏览量时使用）
+ */
+public interface ArticleCategoryRef {
+    Long getArticleId();
+
+    Long getCategoryId();
+}
@@ -1,37 +1,154 @@
 package com.sblogjava.dao;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ArticleRepository extends JpaRepository<Article, Long> {
 
+    // 列表投影查询的公共 SELECT 部分（不查询 content）
+    String SUMMARY_SELECT = "SELECT a.id AS id, a.title AS title, a.summary AS summary, a.cover AS cover, " +
+            "a.status AS status, a.views AS views, a.comments AS comments, a.allowComment AS allowComment, " +
+            "a.createdAt AS createdAt, a.updatedAt AS updatedAt, c.id AS categoryId, c.name AS categoryName " +
+            "FROM Article a LEFT JOIN a.category c ";
+
+    String SEARCH_CONDITION = "(:keyword IS NULL OR :keyword = '' OR a.title LIKE %:keyword% OR a.content LIKE %:keyword%) " +
+            "AND (:status IS NULL OR a.status = :status)";
+
+    String CATEGORY_TAG_CONDITION = "(:status IS NULL OR a.status = :status) " +
+            "AND (:categoryId IS NULL OR a.category.id = :categoryId) " +
+            "AND (:tagId IS NULL OR EXISTS (SELECT t FROM a.tags t WHERE t.id = :tagId))";
+
     Page<Article> findByStatus(Article.ArticleStatus status, Pageable pageable);
 
+    // 详情：一次查询同时加载分类和标签
+    @EntityGraph(attributePaths = {"category", "tags"})
+    Optional<Article> findWithDetailsById(Long id);
+
+    // 按ID批量加载文章及其分类、标签
+    // 需要分批处理时先查询ID再调用此方法，避免集合抓取与分页同时使用导致内存分页
+    @EntityGraph(attributePaths = {"category", "tags"})
+    List<Article> findWithDetailsByIdIn(Collection<Long> ids);
+
+    @Query("SELECT a.id FROM Article a WHERE a.status = :status ORDER BY a.id")
+    List<Long> findIdsByStatus(@Param("status") Article.ArticleStatus status);
+
     long countByStatus(Article.ArticleStatus status);
 
+    boolean existsByIdAndStatus(Long id, Article.ArticleStatus status);
+
     // 统计总访问量
     @Query("SELECT COALESCE(SUM(a.views), 0) FROM Article a")
     Long sumViews();
 
-    @Query("SELECT a FROM Article a WHERE " +
-            "(:keyword IS NULL OR :keyword = '' OR a.title LIKE %:keyword% OR a.content LIKE %:keyword%) " +
-            "AND (:status IS NULL OR a.status = :status)")
-    Page<Article> searchArticles(@Param("keyword") String keyword,
-                                  @Param("status") Article.ArticleStatus status,
-                                  Pageable pageable);
+    // 浏览量增量回写（同一增量的多篇文章合并为一条语句）
+    @Modifying
+    @Transactional
+    @Query("UPDATE Article a SET a.views = a.views + :delta WHERE a.id IN :ids")
+    int addViews(@Param("delta") int delta, @Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Article a SET a.views = :views WHERE a.id = :id")
+    int setViews(@Param("id") Long id, @Param("views") int views);
+
+    /**
+     * 原子调整评论数（不小于 0）
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Article a SET a.comments = CASE WHEN a.comments + :delta < 0 THEN 0 " +
+           "ELSE a.comments + :delta END WHERE a.id = :id")
+    int addComments(@Param("id") Long id, @Param("delta") int delta);
+
+    @Query("SELECT MAX(a.id) FROM Article a")
+    Long findMaxId();
+
+    /**
+     * 按评论表重新统计 ID 范围内文章的评论数，只更新不一致的行
+     * @return 被修正的文章数
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE articles SET comments = " +
+                   "(SELECT COUNT(*) FROM comments c WHERE c.article_id = articles.id) " +
+                   "WHERE id BETWEEN :fromId AND :toId " +
+                   "AND comments <> (SELECT COUNT(*) FROM comments c WHERE c.article_id = articles.id)",
+           nativeQuery = true)
+    int reconcileCommentCounts(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    /**
+     * 按评论表重新统计指定文章的评论数（批量删除评论后使用）
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE articles SET comments = " +
+                   "(SELECT COUNT(*) FROM comments c WHERE c.article_id = articles.id) " +
+                   "WHERE id IN :ids",
+           nativeQuery = true)
+    int recountComments(@Param("ids") Collection<Long> ids);
+
+    @Query(value = SUMMARY_SELECT,
+            countQuery = "SELECT COUNT(a) FROM Article a")
+    Page<ArticleSummary> findAllSummaries(Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + "WHERE " + SEARCH_CONDITION,
+            countQuery = "SELECT COUNT(a) FROM Article a WHERE " + SEARCH_CONDITION)
+    Page<ArticleSummary> searchArticles(@Param("keyword") String keyword,
+                                        @Param("status") Article.ArticleStatus status,
+                                        Pageable pageable);
 
     // 前台：按分类和/或标签筛选文章
-    @Query("SELECT a FROM Article a WHERE " +
-            "(:status IS NULL OR a.status = :status) " +
-            "AND (:categoryId IS NULL OR a.category.id = :categoryId) " +
-            "AND (:tagId IS NULL OR EXISTS (SELECT t FROM a.tags t WHERE t.id = :tagId))")
-    Page<Article> searchByCategoryAndTag(@Param("status") Article.ArticleStatus status,
-                                          @Param("categoryId") Long categoryId,
-                                          @Param("tagId") Long tagId,
-                                          Pageable pageable);
+    @Query(value = SUMMARY_SELECT + "WHERE " + CATEGORY_TAG_CONDITION,
+            countQuery = "SELECT COUNT(a) FROM Article a WHERE " + CATEGORY_TAG_CONDITION)
+    Page<ArticleSummary> searchByCategoryAndTag(@Param("status") Article.ArticleStatus status,
+                                                @Param("categoryId") Long categoryId,
+                                                @Param("tagId") Long tagId,
+                                                Pageable pageable);
+
+    // 前台：游标分页第一页（按创建时间倒序，不查询总数）
+    @Query(SUMMARY_SELECT + "WHERE " + CATEGORY_TAG_CONDITION + " " +
+            "ORDER BY a.createdAt DESC, a.id DESC")
+    List<ArticleSummary> findFeed(@Param("status") Article.ArticleStatus status,
+                                  @Param("categoryId") Long categoryId,
+                                  @Param("tagId") Long tagId,
+                                  Limit limit);
+
+    // 前台：游标分页后续页，从 (createdAt, id) 之后继续读取
+    @Query(SUMMARY_SELECT + "WHERE " + CATEGORY_TAG_CONDITION + " " +
+            "AND (a.createdAt < :createdAt OR (a.createdAt = :createdAt AND a.id < :id)) " +
+            "ORDER BY a.createdAt DESC, a.id DESC")
+    List<ArticleSummary> findFeedAfter(@Param("status") Article.ArticleStatus status,
+                                       @Param("categoryId") Long categoryId,
+                                       @Param("tagId") Long tagId,
+                                       @Param("createdAt") LocalDateTime createdAt,
+                                       @Param("id") Long id,
+                                       Limit limit);
+
+    // 按ID批量查询列表投影（全文检索结果使用）
+    @Query(SUMMARY_SELECT + "WHERE a.id IN :ids")
+    List<ArticleSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // 批量查询多篇文章的标签
+    @Query("SELECT a.id AS articleId, t.id AS tagId, t.name AS tagName " +
+            "FROM Article a JOIN a.tags t WHERE a.id IN :ids")
+    List<ArticleTagRef> findTagsByArticleIds(@Param("ids") Collection<Long> ids);
+
+    // 批量查询多篇文章所属的分类
+    @Query("SELECT a.id AS articleId, c.id AS categoryId " +
+            "FROM Article a LEFT JOIN a.category c WHERE a.id IN :ids")
+    List<ArticleCategoryRef> findCategoryIdsByArticleIds(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,32 @@
+package com.sblogjava.dao;
+
+import java.time.LocalDateTime;
+
+/**
+ * 文章列表投影（不包含正文 content）
+ */
+public interface ArticleSummary {
+    Long getId();
+
+    String getTitle();
+
+    String getSummary();
+
+    String getCover();
+
+    Article.ArticleStatus getStatus();
+
+    Integer getViews();
+
+    Integer getComments();
+
+    Boolean getAllowComment();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getUpdatedAt();
+
+    Long getCategoryId();
+
+    String getCategoryName();
+}
@@ -0,0 +1,12 @@
+package com.sblogjava.dao;
+
+/**
+ * 文章与标签的关联投影（批量加载列表页标签时使用）
+ */
+public interface ArticleTagRef {
+    Long getArticleId();
+
+    Long getTagId();
+
+    String getTagName();
+}
@@ -20,6 +20,10 @@ public class Category {
     @Column(length = 200)
     private String description;
 
+    // 已发布文章数，只通过 CategoryRepository 的计数语句维护
+    @Column(name = "article_count", nullable = false, updatable = false)
+    private Integer articleCount = 0;
+
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
@@ -1,7 +1,11 @@
 package com.sblogjava.dao;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
@@ -11,4 +15,23 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
     Optional<Category> findByName(String name);
 
     boolean existsByName(String name);
+
+    /**
+     * 原子地调整分类的已发布文章数（不小于 0）
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Category c SET c.articleCount = CASE WHEN c.articleCount + :delta < 0 THEN 0 " +
+           "ELSE c.articleCount + :delta END WHERE c.id = :id")
+    int addArticleCount(@Param("id") Long id, @Param("delta") int delta);
+
+    /**
+     * 按文章表重新统计所有分类的已发布文章数
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE categories c SET c.article_count = " +
+                   "(SELECT COUNT(*) FROM articles a WHERE a.category_id = c.id AND a.status = 'PUBLISHED')",
+           nativeQuery = true)
+    int reconcileArticleCounts();
 }
@@ -5,7 +5,12 @@ import lombok.Data;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "comments")
+@Table(name = "comments", indexes = {
+        // 前台按文章分页读取顶层评论
+        @Index(name = "idx_article_top_level", columnList = "article_id, status, parent_id, created_at, id"),
+        // 按顶层评论范围读取整棵回复树
+        @Index(name = "idx_thread_path", columnList = "root_id, path")
+})
 @Data
 public class Comment {
     @Id
@@ -19,10 +24,21 @@ public class Comment {
 
     private String email;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "article_id")
     private Article article;
 
+    // 父评论ID，顶层评论为 null
+    @Column(name = "parent_id")
+    private Long parentId;
+
+    // 所属顶层评论ID（顶层评论为自身ID）
+    @Column(name = "root_id")
+    private Long rootId;
+
+    // 物化路径：从顶层评论到当前评论的各级ID（定长补零后拼接），按路径排序即为回复树的先序遍历
+    private String path;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private CommentStatus status = CommentStatus.PENDING;
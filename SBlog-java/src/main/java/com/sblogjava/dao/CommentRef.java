@@ -0,0 +1,20 @@
+package com.sblogjava.dao;
+
+import java.time.LocalDateTime;
+
+/**
+ * 评论的位置信息（批量删除时计算回复子树和统计数据用，不加载内容）
+ */
+public interface CommentRef {
+    Long getId();
+
+    Long getArticleId();
+
+    Long getCategoryId();
+
+    Long getRootId();
+
+    String getPath();
+
+    LocalDateTime getCreatedAt();
+}
@@ -1,17 +1,30 @@
 package com.sblogjava.dao;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
 
+    String REF_SELECT = "SELECT c.id AS id, a.id AS articleId, cat.id AS categoryId, " +
+            "c.rootId AS rootId, c.path AS path, c.createdAt AS createdAt " +
+            "FROM Comment c JOIN c.article a LEFT JOIN a.category cat ";
+
     Page<Comment> findByStatus(Comment.CommentStatus status, Pageable pageable);
 
+    // 后台列表需要显示文章标题，一并加载文章
+    @EntityGraph(attributePaths = "article")
     @Query("SELECT c FROM Comment c WHERE " +
             "(:status IS NULL OR c.status = :status) " +
             "AND (:articleId IS NULL OR c.article.id = :articleId)")
@@ -20,4 +33,54 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
                                    Pageable pageable);
 
     long countByStatus(Comment.CommentStatus status);
+
+    // 前台：顶层评论第一页（按创建时间倒序，不查询总数）
+    @Query("SELECT c FROM Comment c WHERE c.article.id = :articleId AND c.status = :status " +
+            "AND c.parentId IS NULL ORDER BY c.createdAt DESC, c.id DESC")
+    List<Comment> findTopLevel(@Param("articleId") Long articleId,
+                               @Param("status") Comment.CommentStatus status,
+                               Limit limit);
+
+    // 前台：顶层评论后续页，从 (createdAt, id) 之后继续读取
+    @Query("SELECT c FROM Comment c WHERE c.article.id = :articleId AND c.status = :status " +
+            "AND c.parentId IS NULL " +
+            "AND (c.createdAt < :createdAt OR (c.createdAt = :createdAt AND c.id < :id)) " +
+            "ORDER BY c.createdAt DESC, c.id DESC")
+    List<Comment> findTopLevelAfter(@Param("articleId") Long articleId,
+                                    @Param("status") Comment.CommentStatus status,
+                                    @Param("createdAt") LocalDateTime createdAt,
+                                    @Param("id") Long id,
+                                    Limit limit);
+
+    // 一次读取多个顶层评论下的全部回复，按物化路径排序（父评论总在子评论之前）
+    @Query("SELECT c FROM Comment c WHERE c.rootId IN :rootIds AND c.status = :status " +
+            "AND c.parentId IS NOT NULL ORDER BY c.rootId, c.path")
+    List<Comment> findReplies(@Param("rootIds") Collection<Long> rootIds,
+                              @Param("status") Comment.CommentStatus status);
+
+    // 评论及其全部下级回复
+    @Query("SELECT c FROM Comment c WHERE c.rootId = :rootId AND c.path LIKE CONCAT(:path, '%')")
+    List<Comment> findSubtree(@Param("rootId") Long rootId, @Param("path") String path);
+
+    // 批量审核：按条件分批读取评论ID（按ID递增，从 afterId 之后继续）
+    @Query("SELECT c.id FROM Comment c WHERE c.id > :afterId " +
+            "AND (:status IS NULL OR c.status = :status) " +
+            "AND (:before IS NULL OR c.createdAt < :before) " +
+            "AND (:articleId IS NULL OR c.article.id = :articleId) " +
+            "ORDER BY c.id")
+    List<Long> findIdsForModeration(@Param("afterId") Long afterId,
+                                    @Param("status") Comment.CommentStatus status,
+                                    @Param("before") LocalDateTime before,
+                                    @Param("articleId") Long articleId,
+                                    Limit limit);
+
+    @Modifying
+    @Query("UPDATE Comment c SET c.status = :status WHERE c.id IN :ids AND c.status <> :status")
+    int updateStatus(@Param("ids") Collection<Long> ids, @Param("status") Comment.CommentStatus status);
+
+    @Query(REF_SELECT + "WHERE c.id IN :ids")
+    List<CommentRef> findRefsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(REF_SELECT + "WHERE c.rootId IN :rootIds")
+    List<CommentRef> findRefsByRootIdIn(@Param("rootIds") Collection<Long> rootIds);
 }
@@ -0,0 +1,46 @@
+package com.sblogjava.dao;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import java.time.LocalDate;
+
+/**
+ * 每日统计汇总（仪表盘使用）
+ * 每天每个分类一行，category_id = 0 的行为全站合计
+ */
+@Entity
+@Table(name = "daily_stats", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_stat_date_category", columnNames = {"stat_date", "category_id"})
+})
+@Data
+public class DailyStat {
+    // 全站合计行的分类ID
+    public static final long TOTAL = 0L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "stat_date", nullable = false)
+    private LocalDate statDate;
+
+    @Column(name = "category_id", nullable = false)
+    private Long categoryId;
+
+    // 当天发布（按首次发布日期）且仍为已发布状态的文章数
+    @Column(name = "articles_published", nullable = false)
+    private Long articlesPublished = 0L;
+
+    @Column(name = "comments_created", nullable = false)
+    private Long commentsCreated = 0L;
+
+    @Column(name = "views", nullable = false)
+    private Long views = 0L;
+
+    @Column(name = "messages_created", nullable = false)
+    private Long messagesCreated = 0L;
+
+    // 当天的页面访问次数（只记在全站合计行）
+    @Column(name = "visits", nullable = false)
+    private Long visits = 0L;
+}
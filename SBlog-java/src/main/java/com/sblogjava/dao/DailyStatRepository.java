@@ -0,0 +1,82 @@
+package com.sblogjava.dao;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface DailyStatRepository extends JpaRepository<DailyStat, Long> {
+
+    List<DailyStat> findByCategoryIdAndStatDateBetweenOrderByStatDate(Long categoryId, LocalDate start, LocalDate end);
+
+    Optional<DailyStat> findByStatDateAndCategoryId(LocalDate statDate, Long categoryId);
+
+    /**
+     * 累加某天某分类的统计值，行不存在时插入
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO daily_stats (stat_date, category_id, articles_published, comments_created, views, messages_created, visits) " +
+                   "VALUES (:date, :categoryId, :articles, :comments, :views, :messages, 0) " +
+                   "ON DUPLICATE KEY UPDATE articles_published = articles_published + VALUES(articles_published), " +
+                   "comments_created = comments_created + VALUES(comments_created), " +
+                   "views = views + VALUES(views), " +
+                   "messages_created = messages_created + VALUES(messages_created)",
+           nativeQuery = true)
+    int add(@Param("date") LocalDate date, @Param("categoryId") Long categoryId,
+            @Param("articles") long articles, @Param("comments") long comments,
+            @Param("views") long views, @Param("messages") long messages);
+
+    /**
+     * 累加某天的页面访问次数（全站合计行），行不存在时插入
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO daily_stats (stat_date, category_id, articles_published, comments_created, views, messages_created, visits) " +
+                   "VALUES (:date, 0, 0, 0, 0, 0, :visits) " +
+                   "ON DUPLICATE KEY UPDATE visits = visits + VALUES(visits)",
+           nativeQuery = true)
+    int addVisits(@Param("date") LocalDate date, @Param("visits") long visits);
+
+    /**
+     * 清空可从业务表重新统计的列（浏览量只能实时累计，保留）
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE daily_stats SET articles_published = 0, comments_created = 0, messages_created = 0, visits = 0",
+           nativeQuery = true)
+    int resetDerivedCounts();
+
+    /**
+     * 按文章、评论、留言、访问日志表重新统计每天每个分类的数量
+     * 文章按首次发布日期统计，没有发布时间的历史文章按创建日期
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO daily_stats (stat_date, category_id, articles_published, comments_created, views, messages_created, visits) " +
+                   "SELECT s.stat_date, s.category_id, SUM(s.articles), SUM(s.comments), 0, SUM(s.messages), SUM(s.visits) FROM (" +
+                   "SELECT CAST(COALESCE(a.published_at, a.created_at) AS DATE) AS stat_date, 0 AS category_id, " +
+                   "1 AS articles, 0 AS comments, 0 AS messages, 0 AS visits " +
+                   "FROM articles a WHERE a.status = 'PUBLISHED' " +
+                   "UNION ALL SELECT CAST(COALESCE(a.published_at, a.created_at) AS DATE), a.category_id, 1, 0, 0, 0 " +
+                   "FROM articles a WHERE a.status = 'PUBLISHED' AND a.category_id IS NOT NULL " +
+                   "UNION ALL SELECT CAST(c.created_at AS DATE), 0, 0, 1, 0, 0 FROM comments c " +
+                   "UNION ALL SELECT CAST(c.created_at AS DATE), a.category_id, 0, 1, 0, 0 " +
+                   "FROM comments c JOIN articles a ON a.id = c.article_id WHERE a.category_id IS NOT NULL " +
+                   "UNION ALL SELECT CAST(m.created_at AS DATE), 0, 0, 0, 1, 0 FROM messages m " +
+                   "UNION ALL SELECT CAST(v.visited_at AS DATE), 0, 0, 0, 0, 1 FROM visit_logs v" +
+                   ") s WHERE s.stat_date IS NOT NULL GROUP BY s.stat_date, s.category_id " +
+                   "ON DUPLICATE KEY UPDATE articles_published = VALUES(articles_published), " +
+                   "comments_created = VALUES(comments_created), " +
+                   "messages_created = VALUES(messages_created), " +
+                   "visits = VALUES(visits)",
+           nativeQuery = true)
+    int backfillDerivedCounts();
+}
@@ -1,12 +1,37 @@
 package com.sblogjava.dao;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface MessageRepository extends JpaRepository<Message, Long> {
 
     Page<Message> findByStatus(Message.MessageStatus status, Pageable pageable);
+
+    // 批量处理：按条件分批读取留言ID（按ID递增，从 afterId 之后继续）
+    @Query("SELECT m.id FROM Message m WHERE m.id > :afterId " +
+            "AND (:status IS NULL OR m.status = :status) " +
+            "AND (:before IS NULL OR m.createdAt < :before) " +
+            "ORDER BY m.id")
+    List<Long> findIdsForModeration(@Param("afterId") Long afterId,
+                                    @Param("status") Message.MessageStatus status,
+                                    @Param("before") LocalDateTime before,
+                                    Limit limit);
+
+    @Modifying
+    @Query("UPDATE Message m SET m.status = :status WHERE m.id IN :ids AND m.status <> :status")
+    int updateStatus(@Param("ids") Collection<Long> ids, @Param("status") Message.MessageStatus status);
+
+    @Query("SELECT m.createdAt FROM Message m WHERE m.id IN :ids")
+    List<LocalDateTime> findCreatedAtByIdIn(@Param("ids") Collection<Long> ids);
 }
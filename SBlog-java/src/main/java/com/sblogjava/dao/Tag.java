@@ -17,6 +17,10 @@ public class Tag {
     @Column(nullable = false, unique = true, length = 50)
     private String name;
 
+    // 已发布文章数，只通过 TagRepository 的计数语句维护
+    @Column(name = "article_count", nullable = false, updatable = false)
+    private Integer articleCount = 0;
+
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
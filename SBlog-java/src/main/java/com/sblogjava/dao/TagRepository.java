@@ -1,8 +1,13 @@
 package com.sblogjava.dao;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.Optional;
 
 @Repository
@@ -11,4 +16,24 @@ public interface TagRepository extends JpaRepository<Tag, Long> {
     Optional<Tag> findByName(String name);
 
     boolean existsByName(String name);
+
+    /**
+     * 原子地调整一批标签的已发布文章数（不小于 0）
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Tag t SET t.articleCount = CASE WHEN t.articleCount + :delta < 0 THEN 0 " +
+           "ELSE t.articleCount + :delta END WHERE t.id IN :ids")
+    int addArticleCount(@Param("delta") int delta, @Param("ids") Collection<Long> ids);
+
+    /**
+     * 按文章表重新统计所有标签的已发布文章数
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE tags t SET t.article_count = " +
+                   "(SELECT COUNT(*) FROM article_tags r JOIN articles a ON a.id = r.article_id " +
+                   "WHERE r.tag_id = t.id AND a.status = 'PUBLISHED')",
+           nativeQuery = true)
+    int reconcileArticleCounts();
 }
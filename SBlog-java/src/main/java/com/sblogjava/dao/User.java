@@ -3,8 +3,14 @@ package com.sblogjava.dao;
 import jakarta.persistence.*;
 import lombok.Data;
 
+import java.util.Locale;
+
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+        // 后台按用户名、邮箱前缀搜索（规范化后的列，按键集分页）
+        @Index(name = "idx_username_normalized", columnList = "username_normalized, id"),
+        @Index(name = "idx_email_normalized", columnList = "email_normalized, id")
+})
 @Data
 public class User {
 
@@ -32,6 +38,27 @@ public class User {
     @Enumerated(EnumType.STRING)
     private UserStatus status = UserStatus.ACTIVE;
 
+    // 规范化（去空白、转小写）后的用户名和邮箱，仅用于搜索
+    @Column(name = "username_normalized", length = 50)
+    private String usernameNormalized;
+
+    @Column(name = "email_normalized", length = 100)
+    private String emailNormalized;
+
+    @PrePersist
+    @PreUpdate
+    protected void normalize() {
+        usernameNormalized = normalize(username);
+        emailNormalized = normalize(email);
+    }
+
+    /**
+     * 搜索用的规范化规则，搜索关键字也按同样规则处理
+     */
+    public static String normalize(String value) {
+        return value != null ? value.trim().toLowerCase(Locale.ROOT) : null;
+    }
+
     public enum UserRole {
         USER, ADMIN
     }
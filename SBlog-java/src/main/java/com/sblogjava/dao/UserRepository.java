@@ -1,9 +1,14 @@
 package com.sblogjava.dao;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -28,4 +33,44 @@ public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificat
      * 检查邮箱是否存在
      */
     boolean existsByEmail(String email);
+
+    // 后台搜索：规范化用户名前缀匹配（LIKE 'xx%' 走 idx_username_normalized 范围扫描），按 (用户名, ID) 排序
+    @Query("SELECT u FROM User u WHERE u.usernameNormalized LIKE :prefix ESCAPE '!' " +
+            "ORDER BY u.usernameNormalized, u.id")
+    List<User> findByUsernamePrefix(@Param("prefix") String prefix, Pageable pageable);
+
+    // 后台搜索：用户名前缀匹配的后续页，从 (用户名, ID) 之后继续读取
+    @Query("SELECT u FROM User u WHERE u.usernameNormalized LIKE :prefix ESCAPE '!' " +
+            "AND (u.usernameNormalized > :key OR (u.usernameNormalized = :key AND u.id > :id)) " +
+            "ORDER BY u.usernameNormalized, u.id")
+    List<User> findByUsernamePrefixAfter(@Param("prefix") String prefix,
+                                         @Param("key") String key,
+                                         @Param("id") Long id,
+                                         Limit limit);
+
+    @Query("SELECT COUNT(u) FROM User u WHERE u.usernameNormalized LIKE :prefix ESCAPE '!'")
+    long countByUsernamePrefix(@Param("prefix") String prefix);
+
+    // 后台搜索：规范化邮箱前缀匹配，按 (邮箱, ID) 排序
+    @Query("SELECT u FROM User u WHERE u.emailNormalized LIKE :prefix ESCAPE '!' " +
+            "ORDER BY u.emailNormalized, u.id")
+    List<User> findByEmailPrefix(@Param("prefix") String prefix, Pageable pageable);
+
+    @Query("SELECT u FROM User u WHERE u.emailNormalized LIKE :prefix ESCAPE '!' " +
+            "AND (u.emailNormalized > :key OR (u.emailNormalized = :key AND u.id > :id)) " +
+            "ORDER BY u.emailNormalized, u.id")
+    List<User> findByEmailPrefixAfter(@Param("prefix") String prefix,
+                                      @Param("key") String key,
+                                      @Param("id") Long id,
+                                      Limit limit);
+
+    @Query("SELECT COUNT(u) FROM User u WHERE u.emailNormalized LIKE :prefix ESCAPE '!'")
+    long countByEmailPrefix(@Param("prefix") String prefix);
+
+    // 后台用户列表（无关键字）：按 ID 倒序，不计算总数
+    @Query("SELECT u FROM User u ORDER BY u.id DESC")
+    List<User> findLatest(Pageable pageable);
+
+    @Query("SELECT u FROM User u WHERE u.id < :id ORDER BY u.id DESC")
+    List<User> findLatestBefore(@Param("id") Long id, Limit limit);
 }
@@ -0,0 +1,38 @@
+package com.sblogjava.dao;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+/**
+ * 前台页面访问日志
+ * 由 VisitLogService 通过 JDBC 批量写入，实体只用于建表和查询
+ */
+@Entity
+@Table(name = "visit_logs", indexes = {
+        @Index(name = "idx_visited_at", columnList = "visited_at"),
+        @Index(name = "idx_article_id", columnList = "article_id")
+})
+@Data
+public class VisitLog {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 255)
+    private String path;
+
+    @Column(name = "article_id")
+    private Long articleId;
+
+    // 加盐后的 IP 摘要，不保存原始 IP
+    @Column(name = "ip_hash", length = 16)
+    private String ipHash;
+
+    // 客户端类型：desktop/mobile/bot/other
+    @Column(name = "ua_class", length = 10)
+    private String uaClass;
+
+    @Column(name = "visited_at", nullable = false)
+    private LocalDateTime visitedAt;
+}
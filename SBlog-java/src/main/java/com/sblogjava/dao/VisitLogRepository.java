@@ -0,0 +1,8 @@
+package com.sblogjava.dao;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface VisitLogRepository extends JpaRepository<VisitLog, Long> {
+}
@@ -0,0 +1,20 @@
+package com.sblogjava.interceptor;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * 当前登录用户
+ * 由 TokenInterceptor 在验证 Token 后放入请求属性，控制器通过 @CurrentUser 获取，不再重复解析 Token
+ */
+public record AuthUser(Long userId, String username, String role, String sessionId) {
+
+    public static final String REQUEST_ATTRIBUTE = AuthUser.class.getName();
+
+    public static AuthUser from(Claims claims) {
+        return new AuthUser(
+                claims.get("userId", Long.class),
+                claims.getSubject(),
+                claims.get("role", String.class),
+                claims.getId());
+    }
+}
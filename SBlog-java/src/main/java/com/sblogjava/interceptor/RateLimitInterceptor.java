@@ -0,0 +1,54 @@
+package com.sblogjava.interceptor;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sblogjava.common.Result;
+import com.sblogjava.service.RateLimitService;
+import com.sblogjava.util.IpUtil;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * 限流拦截器
+ * 按请求路径匹配限流规则，超出限额时返回 429 和 Retry-After
+ */
+@Component
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    @Autowired
+    private RateLimitService rateLimitService;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        // 处理跨域预检请求
+        if ("OPTIONS".equals(request.getMethod())) {
+            return true;
+        }
+
+        RateLimitService.Rule rule = rateLimitService.match(request.getMethod(), request.getRequestURI());
+        if (rule == null) {
+            return true;
+        }
+
+        long waitMillis = rateLimitService.acquire(rule, IpUtil.getClientIp(request));
+        if (waitMillis <= 0) {
+            return true;
+        }
+
+        // Retry-After 以秒为单位，向上取整
+        response.setHeader("Retry-After", String.valueOf(Math.max(1, (waitMillis + 999) / 1000)));
+        response.setHeader("X-RateLimit-Limit", rule.capacity() + "/" + rule.periodSeconds() + "s");
+        sendErrorResponse(response, 429, "请求过于频繁，请稍后再试");
+        return false;
+    }
+
+    private void sendErrorResponse(HttpServletResponse response, int code, String message) throws Exception {
+        response.setStatus(code);
+        response.setContentType("application/json;charset=UTF-8");
+        Result<Void> result = Result.error(code, message);
+        ObjectMapper mapper = new ObjectMapper();
+        response.getWriter().write(mapper.writeValueAsString(result));
+    }
+}
@@ -2,7 +2,9 @@ package com.sblogjava.interceptor;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.sblogjava.common.Result;
+import com.sblogjava.service.SessionService;
 import com.sblogjava.util.JwtUtil;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -18,6 +20,9 @@ public class TokenInterceptor implements HandlerInterceptor {
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private SessionService sessionService;
+
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
         // 处理跨域预检请求
@@ -37,11 +42,22 @@ public class TokenInterceptor implements HandlerInterceptor {
         String token = authorization.replace("Bearer ", "");
 
         // 验证 token
-        if (!jwtUtil.validateToken(token)) {
+        Claims claims = jwtUtil.parseToken(token);
+        if (claims == null) {
             sendErrorResponse(response, 401, "token 已过期或无效");
             return false;
         }
 
+        // 检查会话是否已注销（退出登录、删除用户等）
+        AuthUser user = AuthUser.from(claims);
+        if (!sessionService.isActive(user.userId(), user.sessionId())) {
+            sendErrorResponse(response, 401, "token 已失效，请重新登录");
+            return false;
+        }
+
+        // 保存当前用户，控制器通过 @CurrentUser 获取
+        request.setAttribute(AuthUser.REQUEST_ATTRIBUTE, user);
+
         // token 有效，放行
         return true;
     }
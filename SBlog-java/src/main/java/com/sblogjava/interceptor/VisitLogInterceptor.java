@@ -0,0 +1,28 @@
+package com.sblogjava.interceptor;
+
+import com.sblogjava.service.VisitLogService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * 访问日志拦截器
+ * 记录由后端直接提供的前台页面访问，只入队不写库，不影响请求耗时
+ */
+@Component
+public class VisitLogInterceptor implements HandlerInterceptor {
+
+    @Autowired
+    private VisitLogService visitLogService;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // 只记录页面浏览（GET 请求）
+        if ("GET".equals(request.getMethod())) {
+            visitLogService.record(request.getRequestURI(), request);
+        }
+        return true;
+    }
+}
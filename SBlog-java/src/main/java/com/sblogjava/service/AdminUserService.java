@@ -10,6 +10,8 @@ import java.util.List;
 public interface AdminUserService {
     UserPageResult getUsers(Integer page, Integer pageSize, String keyword);
 
+    UserPageResult searchUsers(String keyword, String cursor, Integer pageSize);
+
     void createUser(AdminUserRequest request);
 
     void updateUser(Long id, AdminUserRequest request);
@@ -6,19 +6,23 @@ import com.sblogjava.Dto.UserDto;
 import com.sblogjava.Dto.UserPageResult;
 import com.sblogjava.dao.User;
 import com.sblogjava.dao.UserRepository;
+import com.sblogjava.util.CursorUtil;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import jakarta.persistence.criteria.Predicate;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -27,9 +31,26 @@ public class AdminUserServiceImpl implements AdminUserService {
     @Autowired
     private UserRepository userRepository;
 
-    private final PasswordEncoder passwordEncoder = new org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder();
+    @Autowired
+    private SessionService sessionService;
+
+    @Autowired
+    private PasswordHashService passwordHashService;
+
     private final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
+    // 用户数缓存的有效期（毫秒）
+    @Value("${admin.user.count-cache-ttl:60000}")
+    private long countCacheTtl;
+
+    // 搜索条件 -> 匹配的用户数，按访问顺序淘汰
+    private final Map<String, CachedCount> countCache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedCount> eldest) {
+            return size() > 1000;
+        }
+    };
+
     @Override
     public UserPageResult getUsers(Integer page, Integer pageSize, String keyword) {
         Pageable pageable = PageRequest.of(page - 1, pageSize);
@@ -56,6 +77,86 @@ public class AdminUserServiceImpl implements AdminUserService {
         return result;
     }
 
+    @Override
+    public UserPageResult searchUsers(String keyword, String cursor, Integer pageSize) {
+        SearchField field = SearchField.of(keyword);
+        String normalized = User.normalize(keyword);
+        // 多取一条判断是否还有下一页
+        Pageable firstPage = PageRequest.of(0, pageSize + 1);
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<User> users;
+        if (cursor == null || cursor.isEmpty()) {
+            if (field == SearchField.ALL) {
+                users = userRepository.findLatest(firstPage);
+            } else if (field == SearchField.EMAIL) {
+                users = userRepository.findByEmailPrefix(toPrefix(normalized), firstPage);
+            } else {
+                users = userRepository.findByUsernamePrefix(toPrefix(normalized), firstPage);
+            }
+        } else {
+            CursorUtil.KeyPosition position = CursorUtil.decodeKey(cursor);
+            if (field == SearchField.ALL) {
+                users = userRepository.findLatestBefore(position.id(), limit);
+            } else if (field == SearchField.EMAIL) {
+                users = userRepository.findByEmailPrefixAfter(toPrefix(normalized), position.key(), position.id(), limit);
+            } else {
+                users = userRepository.findByUsernamePrefixAfter(toPrefix(normalized), position.key(), position.id(), limit);
+            }
+        }
+
+        boolean hasMore = users.size() > pageSize;
+        if (hasMore) {
+            users = users.subList(0, pageSize);
+        }
+
+        UserPageResult result = new UserPageResult();
+        result.setTotal(countUsers(field, normalized));
+        result.setList(users.stream()
+                .map(this::convertToDto)
+                .collect(Collectors.toList()));
+        if (hasMore) {
+            User last = users.get(users.size() - 1);
+            String key = field == SearchField.EMAIL ? last.getEmailNormalized()
+                    : field == SearchField.USERNAME ? last.getUsernameNormalized() : "";
+            result.setNextCursor(CursorUtil.encode(key, last.getId()));
+        }
+        return result;
+    }
+
+    /**
+     * 匹配的用户数（近似值）：结果缓存一段时间，翻页时不重复计数
+     */
+    private long countUsers(SearchField field, String normalized) {
+        String key = field + ":" + (normalized != null ? normalized : "");
+        long now = System.currentTimeMillis();
+        synchronized (countCache) {
+            CachedCount cached = countCache.get(key);
+            if (cached != null && cached.expiresAt() > now) {
+                return cached.total();
+            }
+        }
+        long total;
+        if (field == SearchField.ALL) {
+            total = userRepository.count();
+        } else if (field == SearchField.EMAIL) {
+            total = userRepository.countByEmailPrefix(toPrefix(normalized));
+        } else {
+            total = userRepository.countByUsernamePrefix(toPrefix(normalized));
+        }
+        synchronized (countCache) {
+            countCache.put(key, new CachedCount(total, now + countCacheTtl));
+        }
+        return total;
+    }
+
+    /**
+     * 转为 LIKE 前缀模式，转义关键字中的通配符（转义符为 !）
+     */
+    private static String toPrefix(String normalized) {
+        return normalized.replace("!", "!!").replace("%", "!%").replace("_", "!_") + "%";
+    }
+
     @Override
     public void createUser(AdminUserRequest request) {
         if (userRepository.existsByUsername(request.getUsername())) {
@@ -64,7 +165,7 @@ public class AdminUserServiceImpl implements AdminUserService {
 
         User user = new User();
         user.setUsername(request.getUsername());
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
+        user.setPassword(passwordHashService.encode(request.getPassword()));
         user.setEmail(request.getEmail());
         if (request.getRole() != null) {
             user.setRole(User.UserRole.valueOf(request.getRole().toUpperCase()));
@@ -72,6 +173,7 @@ public class AdminUserServiceImpl implements AdminUserService {
             user.setRole(User.UserRole.USER);
         }
         userRepository.save(user);
+        clearCountCache();
     }
 
     @Override
@@ -79,15 +181,29 @@ public class AdminUserServiceImpl implements AdminUserService {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("用户不存在"));
 
+        boolean emailChanged = false;
         if (request.getEmail() != null) {
+            emailChanged = !request.getEmail().equals(user.getEmail());
             user.setEmail(request.getEmail());
         }
 
+        boolean roleChanged = false;
         if (request.getRole() != null) {
-            user.setRole(User.UserRole.valueOf(request.getRole().toUpperCase()));
+            User.UserRole role = User.UserRole.valueOf(request.getRole().toUpperCase());
+            roleChanged = role != user.getRole();
+            user.setRole(role);
         }
 
         userRepository.save(user);
+        // 邮箱参与搜索，变更后缓存的匹配数不再准确
+        if (emailChanged) {
+            clearCountCache();
+        }
+
+        // 角色写在 Token 中，变更后注销该用户的全部会话，要求重新登录
+        if (roleChanged) {
+            sessionService.revokeAll(id);
+        }
     }
 
     @Override
@@ -96,6 +212,8 @@ public class AdminUserServiceImpl implements AdminUserService {
             throw new RuntimeException("用户不存在");
         }
         userRepository.deleteById(id);
+        clearCountCache();
+        sessionService.revokeAll(id);
     }
 
     @Override
@@ -125,4 +243,28 @@ public class AdminUserServiceImpl implements AdminUserService {
         dto.setAvatar(user.getAvatar());
         return dto;
     }
+
+    private void clearCountCache() {
+        synchronized (countCache) {
+            countCache.clear();
+        }
+    }
+
+    /**
+     * 搜索字段：关键字含 @ 时按邮箱前缀搜索，否则按用户名前缀搜索，为空时不过滤
+     */
+    private enum SearchField {
+        ALL, USERNAME, EMAIL;
+
+        static SearchField of(String keyword) {
+            String normalized = User.normalize(keyword);
+            if (normalized == null || normalized.isEmpty()) {
+                return ALL;
+            }
+            return normalized.contains("@") ? EMAIL : USERNAME;
+        }
+    }
+
+    private record CachedCount(long total, long expiresAt) {
+    }
 }
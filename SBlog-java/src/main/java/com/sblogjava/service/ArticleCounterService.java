@@ -0,0 +1,48 @@
+package com.sblogjava.service;
+
+import com.sblogjava.dao.ArticleRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * 文章评论数校正
+ * 评论数由评论的新增、删除原子累加维护，定时按评论表重新统计，修正异常中断等原因造成的偏差
+ */
+@Service
+public class ArticleCounterService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArticleCounterService.class);
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    // 每条校正语句覆盖的文章 ID 范围，避免一次锁住整张表
+    @Value("${article.counter.reconcile-batch-size:1000}")
+    private int batchSize;
+
+    /**
+     * 按 ID 范围分批校正评论数
+     * @return 被修正的文章数
+     */
+    @Scheduled(cron = "${article.counter.reconcile-cron:0 45 3 * * ?}")
+    public int reconcileCommentCounts() {
+        long start = System.currentTimeMillis();
+        Long maxId = articleRepository.findMaxId();
+        int fixed = 0;
+        if (maxId != null) {
+            for (long from = 1; from <= maxId; from += batchSize) {
+                fixed += articleRepository.reconcileCommentCounts(from, from + batchSize - 1);
+            }
+        }
+        if (fixed > 0) {
+            logger.warn("文章评论数校正完成: 修正 {} 篇文章, 耗时 {} ms", fixed, System.currentTimeMillis() - start);
+        } else {
+            logger.info("文章评论数校正完成: 无偏差, 耗时 {} ms", System.currentTimeMillis() - start);
+        }
+        return fixed;
+    }
+}
@@ -0,0 +1,295 @@
+package com.sblogjava.service;
+
+import com.sblogjava.dao.Article;
+import com.sblogjava.dao.ArticleRepository;
+import com.sblogjava.dao.Tag;
+import com.sblogjava.util.CjkTokenizer;
+import com.sblogjava.util.TransactionUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 文章全文检索索引（进程内倒排索引）
+ * 索引已发布文章的标题、摘要、正文和标签名，中文按二元组分词，结果按 BM25 排序。
+ * 配置 article.search.mode=db 时不使用索引，回退到数据库 LIKE 查询
+ */
+@Service
+public class ArticleSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArticleSearchIndex.class);
+
+    // BM25 参数
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    // 各字段的词频权重
+    private static final int TITLE_WEIGHT = 3;
+    private static final int TAG_WEIGHT = 3;
+    private static final int SUMMARY_WEIGHT = 2;
+    private static final int CONTENT_WEIGHT = 1;
+
+    private static final int REBUILD_BATCH_SIZE = 200;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Value("${article.search.mode:index}")
+    private String mode;
+
+    // 词 -> (文章ID -> 加权词频)
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+
+    // 文章ID -> 该文章的词频表（删除、更新时用于清理倒排表）
+    private final Map<Long, Map<String, Integer>> documents = new HashMap<>();
+
+    // 文章ID -> 文档长度（加权词数）
+    private final Map<Long, Integer> docLengths = new HashMap<>();
+
+    private long totalLength = 0;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // 全量构建期间被单独更新或移除的文章（持有写锁访问），构建时读到的旧数据不能覆盖它们
+    private final Set<Long> changedDuringRebuild = new HashSet<>();
+
+    private boolean rebuilding = false;
+
+    private volatile boolean ready = false;
+
+    /**
+     * 索引是否可用于查询（启用索引模式且已完成构建）
+     */
+    public boolean isAvailable() {
+        return ready && "index".equalsIgnoreCase(mode);
+    }
+
+    /**
+     * 启动后全量构建索引
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        if (!"index".equalsIgnoreCase(mode)) {
+            logger.info("文章检索使用数据库模式，跳过索引构建");
+            return;
+        }
+        long start = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            rebuilding = true;
+            changedDuringRebuild.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        try {
+            List<Long> ids = articleRepository.findIdsByStatus(Article.ArticleStatus.PUBLISHED);
+            for (int i = 0; i < ids.size(); i += REBUILD_BATCH_SIZE) {
+                List<Long> batch = ids.subList(i, Math.min(i + REBUILD_BATCH_SIZE, ids.size()));
+                for (Article article : articleRepository.findWithDetailsByIdIn(batch)) {
+                    putRebuilt(article.getId(), analyze(article));
+                }
+            }
+        } finally {
+            lock.writeLock().lock();
+            try {
+                rebuilding = false;
+                changedDuringRebuild.clear();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        ready = true;
+        logger.info("文章检索索引构建完成: {} 篇文章, {} 个词, 耗时 {} ms",
+                docLengths.size(), postings.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * 文章保存后更新索引（已发布的文章加入索引，其他状态移出索引）
+     * 分词在调用方事务内完成，索引变更在事务提交后生效
+     */
+    public void index(Article article) {
+        Long id = article.getId();
+        if (article.getStatus() != Article.ArticleStatus.PUBLISHED) {
+            TransactionUtil.afterCommit(() -> remove(id));
+            return;
+        }
+        Map<String, Integer> terms = analyze(article);
+        TransactionUtil.afterCommit(() -> put(id, terms));
+    }
+
+    /**
+     * 从索引中移除文章
+     */
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            markChanged(id);
+            removeInternal(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 检索已发布文章
+     * 文章需包含查询中的所有词，按 BM25 得分从高到低排序
+     * @param offset 跳过的结果数
+     * @param limit 返回的结果数
+     */
+    public SearchHits search(String keyword, int offset, int limit) {
+        List<String> queryTerms = new ArrayList<>(new LinkedHashSet<>(CjkTokenizer.tokenize(keyword)));
+        if (queryTerms.isEmpty()) {
+            return new SearchHits(0, Collections.emptyList());
+        }
+
+        lock.readLock().lock();
+        try {
+            // 取文档数最少的词作为候选集，其余词逐一过滤
+            List<Map<Long, Integer>> termPostings = new ArrayList<>();
+            for (String term : queryTerms) {
+                Map<Long, Integer> docs = postings.get(term);
+                if (docs == null) {
+                    return new SearchHits(0, Collections.emptyList());
+                }
+                termPostings.add(docs);
+            }
+            termPostings.sort((a, b) -> Integer.compare(a.size(), b.size()));
+
+            int docCount = docLengths.size();
+            double avgLength = docCount > 0 ? (double) totalLength / docCount : 1;
+
+            List<Map.Entry<Long, Double>> scored = new ArrayList<>();
+            candidates:
+            for (Long docId : termPostings.get(0).keySet()) {
+                double score = 0;
+                int docLength = docLengths.get(docId);
+                for (Map<Long, Integer> docs : termPostings) {
+                    Integer tf = docs.get(docId);
+                    if (tf == null) {
+                        continue candidates;
+                    }
+                    double idf = Math.log(1 + (docCount - docs.size() + 0.5) / (docs.size() + 0.5));
+                    score += idf * tf * (K1 + 1) / (tf + K1 * (1 - B + B * docLength / avgLength));
+                }
+                scored.add(Map.entry(docId, score));
+            }
+
+            scored.sort((a, b) -> {
+                int cmp = Double.compare(b.getValue(), a.getValue());
+                return cmp != 0 ? cmp : Long.compare(b.getKey(), a.getKey());
+            });
+
+            List<Long> ids = new ArrayList<>();
+            for (int i = offset; i < scored.size() && ids.size() < limit; i++) {
+                ids.add(scored.get(i).getKey());
+            }
+            return new SearchHits(scored.size(), ids);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<String, Integer> analyze(Article article) {
+        Map<String, Integer> terms = new HashMap<>();
+        addTerms(terms, article.getTitle(), TITLE_WEIGHT);
+        addTerms(terms, article.getSummary(), SUMMARY_WEIGHT);
+        addTerms(terms, article.getContent(), CONTENT_WEIGHT);
+        if (article.getTags() != null) {
+            for (Tag tag : article.getTags()) {
+                addTerms(terms, tag.getName(), TAG_WEIGHT);
+            }
+        }
+        return terms;
+    }
+
+    private void addTerms(Map<String, Integer> terms, String text, int weight) {
+        for (String token : CjkTokenizer.tokenize(text, true)) {
+            terms.merge(token, weight, Integer::sum);
+        }
+    }
+
+    private void put(Long id, Map<String, Integer> terms) {
+        lock.writeLock().lock();
+        try {
+            markChanged(id);
+            putInternal(id, terms);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 全量构建时写入索引，构建开始后已被单独更新或移除的文章保留较新的状态
+     */
+    private void putRebuilt(Long id, Map<String, Integer> terms) {
+        lock.writeLock().lock();
+        try {
+            if (!changedDuringRebuild.contains(id)) {
+                putInternal(id, terms);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void markChanged(Long id) {
+        if (rebuilding) {
+            changedDuringRebuild.add(id);
+        }
+    }
+
+    private void putInternal(Long id, Map<String, Integer> terms) {
+        removeInternal(id);
+        int length = 0;
+        for (Map.Entry<String, Integer> entry : terms.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), k -> new HashMap<>()).put(id, entry.getValue());
+            length += entry.getValue();
+        }
+        documents.put(id, terms);
+        docLengths.put(id, length);
+        totalLength += length;
+    }
+
+    private void removeInternal(Long id) {
+        Map<String, Integer> terms = documents.remove(id);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms.keySet()) {
+            Map<Long, Integer> docs = postings.get(term);
+            if (docs != null) {
+                docs.remove(id);
+                if (docs.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+        Integer length = docLengths.remove(id);
+        if (length != null) {
+            totalLength -= length;
+        }
+    }
+
+    /**
+     * 检索结果：命中总数和当前页的文章ID（已按相关度排序）
+     */
+    public record SearchHits(long total, List<Long> ids) {
+    }
+}
@@ -3,16 +3,31 @@ package com.sblogjava.service;
 import com.sblogjava.Dto.ArticleDto;
 import com.sblogjava.Dto.ArticlePageResult;
 import com.sblogjava.Dto.ArticleRequest;
+import com.sblogjava.Dto.ArticleSummaryDto;
 import com.sblogjava.dao.Article;
 
+import java.util.List;
+
 public interface ArticleService {
     ArticlePageResult getArticles(Integer page, Integer pageSize, String status, String keyword);
 
     // 前台：按分类和/或标签筛选文章
     ArticlePageResult getArticlesByCategoryAndTag(Integer page, Integer pageSize, String status, Long categoryId, Long tagId);
 
+    // 前台：游标分页（不返回总数），cursor 为空时返回第一页
+    ArticlePageResult getArticlesByCursor(Integer pageSize, String status, Long categoryId, Long tagId, String cursor);
+
     ArticleDto getById(Long id);
 
+    // 前台：已发布文章的详情，正文只返回服务端渲染的 HTML（contentHtml）
+    ArticleDto getPublishedById(Long id);
+
+    // 前台：相关文章（按相似度排序）
+    List<ArticleSummaryDto> getRelatedArticles(Long id);
+
+    // 前台：热门文章，window 为 24h 或 7d
+    List<ArticleSummaryDto> getTrendingArticles(String window, Integer limit);
+
     void incrementViews(Long id);
 
     void setViews(Long id, Integer views);
@@ -3,21 +3,32 @@ package com.sblogjava.service;
 import com.sblogjava.Dto.ArticleDto;
 import com.sblogjava.Dto.ArticlePageResult;
 import com.sblogjava.Dto.ArticleRequest;
+import com.sblogjava.Dto.ArticleSummaryDto;
 import com.sblogjava.dao.Article;
 import com.sblogjava.dao.ArticleRepository;
+import com.sblogjava.dao.ArticleSummary;
+import com.sblogjava.dao.ArticleTagRef;
 import com.sblogjava.dao.Category;
 import com.sblogjava.dao.CategoryRepository;
 import com.sblogjava.dao.Tag;
 import com.sblogjava.dao.TagRepository;
+import com.sblogjava.util.CursorUtil;
+import com.sblogjava.util.TransactionUtil;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -32,33 +43,87 @@ public class ArticleServiceImpl implements ArticleService {
     @Autowired
     private TagRepository tagRepository;
 
+    @Autowired
+    private ViewCounterService viewCounterService;
+
+    @Autowired
+    private ArticleSearchIndex articleSearchIndex;
+
+    @Autowired
+    private MarkdownRenderService markdownRenderService;
+
+    @Autowired
+    private SnapshotPublisher snapshotPublisher;
+
+    @Autowired
+    private CategoryTagCounterService categoryTagCounterService;
+
+    @Autowired
+    private RelatedArticleService relatedArticleService;
+
+    @Autowired
+    private TrendingService trendingService;
+
+    @Autowired
+    private DailyStatsService dailyStatsService;
+
     private final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
     @Override
     public ArticlePageResult getArticles(Integer page, Integer pageSize, String status, String keyword) {
         Pageable pageable = PageRequest.of(page - 1, pageSize);
 
-        Page<Article> articlePage;
+        Page<ArticleSummary> articlePage;
         Article.ArticleStatus statusEnum = null;
         if (status != null && !status.isEmpty()) {
             statusEnum = Article.ArticleStatus.valueOf(status.toUpperCase());
         }
 
+        // 前台检索已发布文章时使用全文索引
+        if (keyword != null && !keyword.isEmpty() && statusEnum == Article.ArticleStatus.PUBLISHED
+                && articleSearchIndex.isAvailable()) {
+            return searchPublished(page, pageSize, keyword);
+        }
+
         if ((keyword == null || keyword.isEmpty()) && statusEnum == null) {
-            articlePage = articleRepository.findAll(pageable);
+            articlePage = articleRepository.findAllSummaries(pageable);
         } else {
             articlePage = articleRepository.searchArticles(keyword, statusEnum, pageable);
         }
 
         ArticlePageResult result = new ArticlePageResult();
         result.setTotal(articlePage.getTotalElements());
-        result.setList(articlePage.getContent().stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList()));
+        result.setList(convertToSummaryDtos(articlePage.getContent()));
+
+        return result;
+    }
+
+    private ArticlePageResult searchPublished(Integer page, Integer pageSize, String keyword) {
+        ArticleSearchIndex.SearchHits hits = articleSearchIndex.search(keyword, (page - 1) * pageSize, pageSize);
+
+        // 按检索结果的相关度顺序返回
+        ArticlePageResult result = new ArticlePageResult();
+        result.setTotal(hits.total());
+        result.setList(convertToSummaryDtos(findSummariesInOrder(hits.ids())));
 
         return result;
     }
 
+    /**
+     * 按给定的ID顺序查询文章摘要（已删除的文章跳过）
+     */
+    private List<ArticleSummary> findSummariesInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, ArticleSummary> articles = articleRepository.findSummariesByIdIn(ids).stream()
+                .collect(Collectors.toMap(ArticleSummary::getId, Function.identity()));
+        return ids.stream()
+                .map(articles::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
     @Override
     public ArticlePageResult getArticlesByCategoryAndTag(Integer page, Integer pageSize, String status, Long categoryId, Long tagId) {
         Pageable pageable = PageRequest.of(page - 1, pageSize);
@@ -68,24 +133,76 @@ public class ArticleServiceImpl implements ArticleService {
             statusEnum = Article.ArticleStatus.valueOf(status.toUpperCase());
         }
 
-        Page<Article> articlePage = articleRepository.searchByCategoryAndTag(statusEnum, categoryId, tagId, pageable);
+        Page<ArticleSummary> articlePage = articleRepository.searchByCategoryAndTag(statusEnum, categoryId, tagId, pageable);
 
         ArticlePageResult result = new ArticlePageResult();
         result.setTotal(articlePage.getTotalElements());
-        result.setList(articlePage.getContent().stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList()));
+        result.setList(convertToSummaryDtos(articlePage.getContent()));
+
+        return result;
+    }
+
+    @Override
+    public ArticlePageResult getArticlesByCursor(Integer pageSize, String status, Long categoryId, Long tagId, String cursor) {
+        Article.ArticleStatus statusEnum = Article.ArticleStatus.valueOf(status.toUpperCase());
+
+        // 多取一条用于判断是否还有下一页
+        Limit limit = Limit.of(pageSize + 1);
+        List<ArticleSummary> articles;
+        if (cursor == null || cursor.isEmpty()) {
+            articles = articleRepository.findFeed(statusEnum, categoryId, tagId, limit);
+        } else {
+            CursorUtil.Position position = CursorUtil.decode(cursor);
+            articles = articleRepository.findFeedAfter(statusEnum, categoryId, tagId,
+                    position.time(), position.id(), limit);
+        }
+
+        ArticlePageResult result = new ArticlePageResult();
+        if (articles.size() > pageSize) {
+            articles = articles.subList(0, pageSize);
+            ArticleSummary last = articles.get(articles.size() - 1);
+            result.setNextCursor(CursorUtil.encode(last.getCreatedAt(), last.getId()));
+        }
+        result.setList(convertToSummaryDtos(articles));
 
         return result;
     }
 
     @Override
     public ArticleDto getById(Long id) {
-        Article article = articleRepository.findById(id)
+        Article article = articleRepository.findWithDetailsById(id)
                 .orElseThrow(() -> new RuntimeException("文章不存在"));
         return convertToDto(article);
     }
 
+    @Override
+    public ArticleDto getPublishedById(Long id) {
+        Article article = articleRepository.findWithDetailsById(id)
+                .filter(a -> a.getStatus() == Article.ArticleStatus.PUBLISHED)
+                .orElseThrow(() -> new RuntimeException("文章不存在"));
+        ArticleDto dto = convertToDto(article);
+        // 前台只下发渲染后的 HTML，不再附带 Markdown 原文
+        dto.setContent(null);
+        dto.setContentHtml(markdownRenderService.getHtml(article));
+        return dto;
+    }
+
+    @Override
+    public List<ArticleSummaryDto> getRelatedArticles(Long id) {
+        return convertToSummaryDtos(findSummariesInOrder(relatedArticleService.getRelated(id)));
+    }
+
+    @Override
+    public List<ArticleSummaryDto> getTrendingArticles(String window, Integer limit) {
+        TrendingService.Window trendingWindow = TrendingService.Window.of(window);
+        // 多取一些，过滤掉已删除或下线的文章后仍能凑够数量
+        List<ArticleSummary> articles = findSummariesInOrder(trendingService.getTopArticles(trendingWindow, limit * 2)).stream()
+                .filter(article -> article.getStatus() == Article.ArticleStatus.PUBLISHED)
+                .limit(limit)
+                .collect(Collectors.toList());
+        return convertToSummaryDtos(articles);
+    }
+
     @Override
     @Transactional
     public void create(ArticleRequest request) {
@@ -119,7 +236,15 @@ public class ArticleServiceImpl implements ArticleService {
             article.setTags(tags);
         }
 
+        markPublished(article, false);
         articleRepository.save(article);
+        CategoryTagCounterService.State after = CategoryTagCounterService.State.of(article);
+        categoryTagCounterService.articleChanged(null, after);
+        dailyStatsService.articleChanged(null, after, article.getPublishedAt());
+        articleSearchIndex.index(article);
+        relatedArticleService.index(article);
+        prerenderContent(article);
+        snapshotPublisher.articleChanged(article.getId(), null, null);
     }
 
     @Override
@@ -139,6 +264,9 @@ public class ArticleServiceImpl implements ArticleService {
             throw new RuntimeException("文章状态不能为空");
         }
 
+        // 记录修改前的状态、分类和标签，用于调整计数和刷新原列表页的静态快照
+        CategoryTagCounterService.State before = CategoryTagCounterService.State.of(article);
+
         article.setTitle(request.getTitle());
         article.setContent(request.getContent());
         article.setSummary(request.getSummary());
@@ -163,16 +291,22 @@ public class ArticleServiceImpl implements ArticleService {
             article.setTags(new java.util.ArrayList<>());
         }
 
+        markPublished(article, before.published());
         articleRepository.save(article);
+        CategoryTagCounterService.State after = CategoryTagCounterService.State.of(article);
+        categoryTagCounterService.articleChanged(before, after);
+        dailyStatsService.articleChanged(before, after, article.getPublishedAt());
+        articleSearchIndex.index(article);
+        relatedArticleService.index(article);
+        prerenderContent(article);
+        snapshotPublisher.articleChanged(id, before.categoryId(), before.tagIds());
     }
 
     @Override
-    @Transactional
     public void incrementViews(Long id) {
-        Article article = articleRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("文章不存在"));
-        article.setViews(article.getViews() + 1);
-        articleRepository.save(article);
+        // 只在内存中计数，由 ViewCounterService 定时批量回写
+        viewCounterService.increment(id);
+        trendingService.record(id);
     }
 
     @Override
@@ -181,28 +315,106 @@ public class ArticleServiceImpl implements ArticleService {
         if (views == null || views < 0) {
             throw new RuntimeException("浏览量不能为负数");
         }
-        Article article = articleRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("文章不存在"));
-        article.setViews(views);
-        articleRepository.save(article);
+        // 手动设置的浏览量覆盖尚未回写的增量；先丢弃（等待进行中的回写完成）再写入，
+        // 此时本事务尚未锁定文章行，不会与回写互相等待
+        viewCounterService.discard(id);
+        if (articleRepository.setViews(id, views) == 0) {
+            throw new RuntimeException("文章不存在");
+        }
     }
 
     @Override
     @Transactional
     public void updateCommentCount(Long id, int delta) {
-        Article article = articleRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("文章不存在"));
-        int newCount = Math.max(0, article.getComments() + delta);
-        article.setComments(newCount);
-        articleRepository.save(article);
+        // 单条 UPDATE 语句原子累加，并发的新增、删除不会丢失更新，也不会重写整行
+        if (articleRepository.addComments(id, delta) == 0) {
+            throw new RuntimeException("文章不存在");
+        }
     }
 
     @Override
+    @Transactional
     public void delete(Long id) {
-        if (!articleRepository.existsById(id)) {
-            throw new RuntimeException("文章不存在");
+        Article article = articleRepository.findWithDetailsById(id)
+                .orElseThrow(() -> new RuntimeException("文章不存在"));
+        CategoryTagCounterService.State before = CategoryTagCounterService.State.of(article);
+
+        markPublished(article, before.published());
+        articleRepository.delete(article);
+        categoryTagCounterService.articleChanged(before, null);
+        dailyStatsService.articleChanged(before, null, article.getPublishedAt());
+        // 事务已锁定文章行，提交后再丢弃增量，避免与正在回写的 flush 互相等待
+        TransactionUtil.afterCommit(() -> viewCounterService.discard(id));
+        // 与 index 一致，提交后再更新内存索引，删除回滚时文章仍可被检索
+        TransactionUtil.afterCommit(() -> articleSearchIndex.remove(id));
+        TransactionUtil.afterCommit(() -> relatedArticleService.remove(id));
+        markdownRenderService.evict(id);
+        snapshotPublisher.articleChanged(id, before.categoryId(), before.tagIds());
+    }
+
+    /**
+     * 首次发布时记录发布时间，撤回后再次发布保持不变
+     * 升级前已发布的文章没有发布时间，沿用回填时使用的创建时间
+     */
+    private void markPublished(Article article, boolean wasPublished) {
+        if (article.getPublishedAt() != null) {
+            return;
+        }
+        if (wasPublished) {
+            article.setPublishedAt(article.getCreatedAt());
+        } else if (article.getStatus() == Article.ArticleStatus.PUBLISHED) {
+            article.setPublishedAt(LocalDateTime.now().withNano(0));
         }
-        articleRepository.deleteById(id);
+    }
+
+    /**
+     * 事务提交后在后台渲染文章的新版本正文
+     */
+    private void prerenderContent(Article article) {
+        String content = article.getContent();
+        TransactionUtil.afterCommit(() -> markdownRenderService.prerender(article.getId(), content));
+    }
+
+    /**
+     * 列表投影转换为 DTO，整页文章的标签通过一次查询批量加载
+     */
+    private List<ArticleSummaryDto> convertToSummaryDtos(List<ArticleSummary> articles) {
+        if (articles.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<Long> ids = articles.stream().map(ArticleSummary::getId).collect(Collectors.toList());
+        Map<Long, List<ArticleTagRef>> tagsByArticle = articleRepository.findTagsByArticleIds(ids).stream()
+                .collect(Collectors.groupingBy(ArticleTagRef::getArticleId));
+
+        return articles.stream().map(article -> {
+            ArticleSummaryDto dto = new ArticleSummaryDto();
+            dto.setId(article.getId());
+            dto.setTitle(article.getTitle());
+            dto.setSummary(article.getSummary());
+            dto.setCover(article.getCover());
+            dto.setStatus(article.getStatus().name().toLowerCase());
+            dto.setViews(article.getViews() + (int) viewCounterService.getPending(article.getId()));
+            dto.setComments(article.getComments());
+            dto.setAllowComment(article.getAllowComment());
+            dto.setCreatedAt(article.getCreatedAt() != null ?
+                    article.getCreatedAt().format(formatter) : null);
+            dto.setUpdatedAt(article.getUpdatedAt() != null ?
+                    article.getUpdatedAt().format(formatter) : null);
+            dto.setCategoryId(article.getCategoryId());
+            dto.setCategoryName(article.getCategoryName());
+
+            List<ArticleTagRef> tags = tagsByArticle.get(article.getId());
+            if (tags != null) {
+                dto.setTags(tags.stream()
+                        .map(ArticleTagRef::getTagName)
+                        .collect(Collectors.toList()));
+                dto.setTagIds(tags.stream()
+                        .map(ArticleTagRef::getTagId)
+                        .collect(Collectors.toList()));
+            }
+            return dto;
+        }).collect(Collectors.toList());
     }
 
     private ArticleDto convertToDto(Article article) {
@@ -213,7 +425,7 @@ public class ArticleServiceImpl implements ArticleService {
         dto.setSummary(article.getSummary());
         dto.setCover(article.getCover());
         dto.setStatus(article.getStatus().name().toLowerCase());
-        dto.setViews(article.getViews());
+        dto.setViews(article.getViews() + (int) viewCounterService.getPending(article.getId()));
         dto.setComments(article.getComments());
         dto.setAllowComment(article.getAllowComment());
         dto.setCreatedAt(article.getCreatedAt() != null ?
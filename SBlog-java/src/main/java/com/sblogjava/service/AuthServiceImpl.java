@@ -4,7 +4,6 @@ import com.sblogjava.Dto.PasswordChangeRequest;
 import com.sblogjava.dao.User;
 import com.sblogjava.dao.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.util.Optional;
@@ -15,7 +14,8 @@ public class AuthServiceImpl implements AuthService {
     @Autowired
     private UserRepository userRepository;
 
-    private final PasswordEncoder passwordEncoder = new org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder();
+    @Autowired
+    private PasswordHashService passwordHashService;
 
     @Override
     public void changePassword(String username, PasswordChangeRequest request) {
@@ -27,12 +27,12 @@ public class AuthServiceImpl implements AuthService {
         User user = userOpt.get();
 
         // 验证旧密码
-        if (!passwordEncoder.matches(request.getOldPassword(), user.getPassword())) {
+        if (!passwordHashService.matches(request.getOldPassword(), user.getPassword())) {
             throw new RuntimeException("旧密码错误");
         }
 
         // 更新密码
-        user.setPassword(passwordEncoder.encode(request.getNewPassword()));
+        user.setPassword(passwordHashService.encode(request.getNewPassword()));
         userRepository.save(user);
     }
 }
@@ -72,7 +72,7 @@ public class CategoryServiceImpl implements CategoryService {
         dto.setId(category.getId());
         dto.setName(category.getName());
         dto.setDescription(category.getDescription());
-        dto.setArticleCount(category.getArticles() != null ? category.getArticles().size() : 0);
+        dto.setArticleCount(category.getArticleCount());
         dto.setCreatedAt(category.getCreatedAt() != null ?
                 category.getCreatedAt().format(formatter) : null);
         return dto;
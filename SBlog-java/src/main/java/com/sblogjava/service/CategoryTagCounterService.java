@@ -0,0 +1,104 @@
+package com.sblogjava.service;
+
+import com.sblogjava.dao.Article;
+import com.sblogjava.dao.CategoryRepository;
+import com.sblogjava.dao.Tag;
+import com.sblogjava.dao.TagRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 分类、标签的已发布文章数维护服务
+ * 文章写入时按变更前后的差值原子调整 categories/tags 表的 article_count，
+ * 定时按文章表全量校正一次，修复异常中断等原因造成的偏差
+ */
+@Service
+public class CategoryTagCounterService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CategoryTagCounterService.class);
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    /**
+     * 文章变更后调整计数，需在文章写入的同一事务中调用
+     * @param before 变更前的状态，新建文章时为 null
+     * @param after 变更后的状态，删除文章时为 null
+     */
+    public void articleChanged(State before, State after) {
+        Map<Long, Integer> categoryDeltas = new HashMap<>();
+        Map<Long, Integer> tagDeltas = new HashMap<>();
+        collect(before, -1, categoryDeltas, tagDeltas);
+        collect(after, 1, categoryDeltas, tagDeltas);
+
+        categoryDeltas.forEach((categoryId, delta) -> {
+            if (delta != 0) {
+                categoryRepository.addArticleCount(categoryId, delta);
+            }
+        });
+
+        // 标签按差值分组，每组一条语句
+        Map<Integer, List<Long>> tagsByDelta = new HashMap<>();
+        tagDeltas.forEach((tagId, delta) -> {
+            if (delta != 0) {
+                tagsByDelta.computeIfAbsent(delta, k -> new ArrayList<>()).add(tagId);
+            }
+        });
+        tagsByDelta.forEach((delta, tagIds) -> tagRepository.addArticleCount(delta, tagIds));
+    }
+
+    /**
+     * 启动时及每天定时按文章表校正计数
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${category-tag.counter.reconcile-cron:0 30 3 * * ?}")
+    public void reconcile() {
+        long start = System.currentTimeMillis();
+        int categories = categoryRepository.reconcileArticleCounts();
+        int tags = tagRepository.reconcileArticleCounts();
+        logger.info("分类/标签文章数校正完成: {} 个分类, {} 个标签, 耗时 {} ms",
+                categories, tags, System.currentTimeMillis() - start);
+    }
+
+    private void collect(State state, int sign, Map<Long, Integer> categoryDeltas, Map<Long, Integer> tagDeltas) {
+        // 只统计已发布文章
+        if (state == null || !state.published()) {
+            return;
+        }
+        if (state.categoryId() != null) {
+            categoryDeltas.merge(state.categoryId(), sign, Integer::sum);
+        }
+        for (Long tagId : state.tagIds()) {
+            tagDeltas.merge(tagId, sign, Integer::sum);
+        }
+    }
+
+    /**
+     * 文章中与计数相关的状态：是否已发布、所属分类、标签
+     */
+    public record State(boolean published, Long categoryId, List<Long> tagIds) {
+
+        public static State of(Article article) {
+            Long categoryId = article.getCategory() != null ? article.getCategory().getId() : null;
+            List<Long> tagIds = article.getTags() != null
+                    ? article.getTags().stream().map(Tag::getId).distinct().collect(Collectors.toList())
+                    : Collections.emptyList();
+            return new State(article.getStatus() == Article.ArticleStatus.PUBLISHED, categoryId, tagIds);
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.sblogjava.service;
+
+import com.sblogjava.util.BloomFilter;
+import com.sblogjava.util.HashUtil;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.text.Normalizer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 评论防刷
+ * 在写库之前于内存中拦截：
+ * 1. 同一 IP 在滑动时间窗口内的评论数超过上限；
+ * 2. 同一文章下重复的评论内容（归一化后计算哈希，记录在两代轮换的布隆过滤器中，
+ *    内容在一到两个轮换周期内保持可识别，内存固定）。
+ * 检查通过后由调用方在写库成功时调用 succeeded 记录内容，失败时调用 failed 归还频率限额
+ */
+@Service
+public class CommentFloodGuard {
+
+    // 同一 IP 在窗口内最多提交的评论数
+    @Value("${comment.flood.ip-max:3}")
+    private int ipMax;
+
+    // IP 计数的滑动窗口（毫秒）
+    @Value("${comment.flood.ip-window:60000}")
+    private long ipWindow;
+
+    // 重复内容过滤器的轮换周期（毫秒）
+    @Value("${comment.flood.dedup-window:3600000}")
+    private long dedupWindow;
+
+    // 每个轮换周期预计的评论数
+    @Value("${comment.flood.expected-comments:100000}")
+    private int expectedComments;
+
+    // IP -> 窗口内的提交时间（最多保留 ipMax 个）
+    private final Map<String, Deque<Long>> submissions = new ConcurrentHashMap<>();
+
+    // 以下字段只在持有 this 锁时访问
+    // 已通过检查、尚未写库的评论内容哈希，拦截并发提交的相同内容
+    private final Set<Long> inFlight = new HashSet<>();
+    private BloomFilter current;
+    private BloomFilter previous;
+    private long rotatedAt;
+
+    @PostConstruct
+    public void init() {
+        current = new BloomFilter(expectedComments, 0.001);
+        previous = new BloomFilter(expectedComments, 0.001);
+        rotatedAt = System.currentTimeMillis();
+    }
+
+    /**
+     * 检查评论是否允许提交，通过后占用一次频率限额
+     * @return 本次提交，写库后传给 succeeded 或 failed
+     */
+    public Submission check(Long articleId, String ip, String content) {
+        long now = System.currentTimeMillis();
+        if (ip != null && !acquire(ip, now)) {
+            throw new RuntimeException("评论过于频繁，请稍后再试");
+        }
+        // 归一化后为空（纯表情、纯标点）的内容无法区分，不做重复检查
+        String normalized = content != null ? normalize(content) : "";
+        Long hash = normalized.isEmpty() ? null : HashUtil.hash64(articleId + ":" + normalized);
+        if (hash != null && !reserve(hash, now)) {
+            release(ip, now);
+            throw new RuntimeException("请勿重复发表相同的评论");
+        }
+        return new Submission(ip, now, hash);
+    }
+
+    /**
+     * 评论已写入：记录内容，之后相同内容视为重复
+     */
+    public synchronized void succeeded(Submission submission) {
+        if (submission.contentHash() != null) {
+            inFlight.remove(submission.contentHash());
+            current.put(submission.contentHash());
+        }
+    }
+
+    /**
+     * 评论写入失败：归还频率限额，不记录内容
+     */
+    public void failed(Submission submission) {
+        if (submission.contentHash() != null) {
+            synchronized (this) {
+                inFlight.remove(submission.contentHash());
+            }
+        }
+        release(submission.ip(), submission.time());
+    }
+
+    /**
+     * 滑动窗口计数：窗口内已有 ipMax 次提交时拒绝
+     */
+    private boolean acquire(String ip, long now) {
+        boolean[] allowed = new boolean[1];
+        // compute 对同一 IP 的更新加锁，与清理任务互不干扰
+        submissions.compute(ip, (key, times) -> {
+            if (times == null) {
+                times = new ArrayDeque<>();
+            }
+            while (!times.isEmpty() && now - times.peekFirst() >= ipWindow) {
+                times.pollFirst();
+            }
+            if (times.size() < ipMax) {
+                times.addLast(now);
+                allowed[0] = true;
+            }
+            return times;
+        });
+        return allowed[0];
+    }
+
+    private void release(String ip, long time) {
+        if (ip == null) {
+            return;
+        }
+        submissions.computeIfPresent(ip, (key, times) -> {
+            times.removeLastOccurrence(time);
+            return times.isEmpty() ? null : times;
+        });
+    }
+
+    /**
+     * 内容未出现过时占用该内容，返回 false 表示重复
+     */
+    private synchronized boolean reserve(long hash, long now) {
+        if (now - rotatedAt >= dedupWindow) {
+            previous = current;
+            current = new BloomFilter(expectedComments, 0.001);
+            rotatedAt = now;
+        }
+        if (inFlight.contains(hash) || current.mightContain(hash) || previous.mightContain(hash)) {
+            return false;
+        }
+        inFlight.add(hash);
+        return true;
+    }
+
+    /**
+     * 定期清理窗口已过期的 IP
+     */
+    @Scheduled(fixedDelayString = "${comment.flood.cleanup-interval:60000}")
+    public void cleanup() {
+        long now = System.currentTimeMillis();
+        for (String ip : submissions.keySet()) {
+            submissions.computeIfPresent(ip,
+                    (key, times) -> times.isEmpty() || now - times.peekLast() >= ipWindow ? null : times);
+        }
+    }
+
+    /**
+     * 内容归一化：统一全角半角、忽略大小写，只保留文字和数字
+     */
+    private static String normalize(String content) {
+        String text = Normalizer.normalize(content, Normalizer.Form.NFKC).toLowerCase();
+        StringBuilder sb = new StringBuilder(text.length());
+        text.codePoints()
+                .filter(Character::isLetterOrDigit)
+                .forEach(sb::appendCodePoint);
+        return sb.toString();
+    }
+
+    /**
+     * 一次通过检查的提交
+     * @param contentHash 内容哈希，不做重复检查时为 null
+     */
+    public record Submission(String ip, long time, Long contentHash) {
+    }
+}
@@ -1,5 +1,6 @@
 package com.sblogjava.service;
 
+import com.sblogjava.Dto.BulkModerationRequest;
 import com.sblogjava.Dto.CommentCreateRequest;
 import com.sblogjava.Dto.CommentDto;
 import com.sblogjava.Dto.CommentPageResult;
@@ -12,10 +13,20 @@ public interface CommentService {
 
     void deleteComment(Long id);
 
+    /**
+     * 批量审核或删除评论，按批执行，每批一个事务
+     * @return 受影响的评论数（删除时包含被一并删除的回复）
+     */
+    int bulkModerate(BulkModerationRequest request);
+
     long getTotalCount();
 
     // 前台评论接口
     void createComment(CommentCreateRequest request, String ip);
 
-    CommentPageResult getApprovedComments(Long articleId);
+    /**
+     * 前台：按游标分页获取顶层评论及其回复树
+     * @param cursor 上一页返回的 nextCursor，第一页传空
+     */
+    CommentPageResult getApprovedComments(Long articleId, String cursor, Integer pageSize);
 }
@@ -1,5 +1,6 @@
 package com.sblogjava.service;
 
+import com.sblogjava.Dto.BulkModerationRequest;
 import com.sblogjava.Dto.CommentCreateRequest;
 import com.sblogjava.Dto.CommentDto;
 import com.sblogjava.Dto.CommentPageResult;
@@ -7,16 +8,32 @@ import com.sblogjava.Dto.ReplyRequest;
 import com.sblogjava.dao.Article;
 import com.sblogjava.dao.ArticleRepository;
 import com.sblogjava.dao.Comment;
+import com.sblogjava.dao.CommentRef;
 import com.sblogjava.dao.CommentRepository;
+import com.sblogjava.util.ChunkUtil;
+import com.sblogjava.util.CursorUtil;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -31,6 +48,27 @@ public class CommentServiceImpl implements CommentService {
     @Autowired
     private ArticleService articleService;
 
+    @Autowired
+    private SnapshotPublisher snapshotPublisher;
+
+    @Autowired
+    private DailyStatsService dailyStatsService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // 批量审核每批处理的评论数
+    @Value("${moderation.bulk.chunk-size:500}")
+    private int bulkChunkSize;
+
+    // 物化路径中每级评论ID的长度（补零）
+    private static final int PATH_SEGMENT_LENGTH = 12;
+
+    // 回复的最大层级（含顶层评论），路径最长 MAX_DEPTH * PATH_SEGMENT_LENGTH
+    private static final int MAX_DEPTH = 8;
+
+    private static final String ADMIN_AUTHOR = "博主";
+
     private final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
     @Override
@@ -56,12 +94,21 @@ public class CommentServiceImpl implements CommentService {
     @Override
     @Transactional
     public void replyComment(Long id, ReplyRequest request) {
-        Comment comment = commentRepository.findById(id)
+        if (request.getContent() == null || request.getContent().trim().isEmpty()) {
+            throw new RuntimeException("回复内容不能为空");
+        }
+        Comment parent = commentRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("评论不存在"));
 
-        // 这里可以创建一个回复记录，暂时简化为更新原评论
-        // 实际项目中可能需要创建单独的 Reply 表
-        commentRepository.save(comment);
+        // 博主回复作为一条已通过的下级评论
+        Comment reply = new Comment();
+        reply.setAuthor(ADMIN_AUTHOR);
+        reply.setContent(request.getContent());
+        reply.setArticle(parent.getArticle());
+        reply.setStatus(Comment.CommentStatus.APPROVED);
+        attachToParent(reply, parent);
+
+        saveComment(reply);
     }
 
     @Override
@@ -69,10 +116,114 @@ public class CommentServiceImpl implements CommentService {
     public void deleteComment(Long id) {
         Comment comment = commentRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("评论不存在"));
-        Long articleId = comment.getArticle().getId();
-        commentRepository.deleteById(id);
+        Article article = comment.getArticle();
+        Long articleId = article.getId();
+        Long categoryId = article.getCategory() != null ? article.getCategory().getId() : null;
+
+        // 连同全部下级回复一起删除
+        List<Comment> subtree = comment.getPath() != null
+                ? commentRepository.findSubtree(comment.getRootId(), comment.getPath())
+                : List.of(comment);
+        commentRepository.deleteAllByIdInBatch(subtree.stream().map(Comment::getId).collect(Collectors.toList()));
+        for (Comment deleted : subtree) {
+            dailyStatsService.commentChanged(deleted.getCreatedAt(), categoryId, -1);
+        }
         // 减少文章评论数
-        articleService.updateCommentCount(articleId, -1);
+        articleService.updateCommentCount(articleId, -subtree.size());
+        snapshotPublisher.commentChanged(articleId);
+    }
+
+    @Override
+    public int bulkModerate(BulkModerationRequest request) {
+        String action = request.getAction() != null ? request.getAction().toLowerCase() : "";
+        Comment.CommentStatus target = switch (action) {
+            case "approve" -> Comment.CommentStatus.APPROVED;
+            case "spam" -> Comment.CommentStatus.SPAM;
+            case "pending" -> Comment.CommentStatus.PENDING;
+            case "delete" -> null;
+            default -> throw new RuntimeException("不支持的操作: " + request.getAction());
+        };
+        // 每批在独立的事务中执行，避免长事务和大范围锁
+        Function<List<Long>, Integer> apply = ids -> transactionTemplate.execute(tx ->
+                target != null ? commentRepository.updateStatus(ids, target) : deleteInBatch(ids));
+
+        int affected = 0;
+        if (request.getIds() != null && !request.getIds().isEmpty()) {
+            for (List<Long> chunk : ChunkUtil.partition(request.getIds(), bulkChunkSize)) {
+                affected += apply.apply(chunk);
+            }
+            return affected;
+        }
+
+        // 空白的状态视为未指定，不能作为筛选条件
+        Comment.CommentStatus status = StringUtils.hasText(request.getStatus())
+                ? Comment.CommentStatus.valueOf(request.getStatus().trim().toUpperCase()) : null;
+        if (status == null && request.getOlderThanDays() == null && request.getArticleId() == null) {
+            throw new RuntimeException("请指定要处理的评论或筛选条件");
+        }
+        LocalDateTime before = request.getOlderThanDays() != null
+                ? LocalDateTime.now().minusDays(request.getOlderThanDays()) : null;
+        // 按ID递增分批读取，处理过的记录不会再次读取
+        long afterId = 0;
+        while (true) {
+            List<Long> chunk = commentRepository.findIdsForModeration(afterId, status, before,
+                    request.getArticleId(), Limit.of(bulkChunkSize));
+            if (chunk.isEmpty()) {
+                break;
+            }
+            affected += apply.apply(chunk);
+            afterId = chunk.get(chunk.size() - 1);
+        }
+        return affected;
+    }
+
+    /**
+     * 删除一批评论及其全部回复，按文章重新统计评论数，按日期和分类合并调整每日统计
+     * @return 删除的评论数
+     */
+    private int deleteInBatch(List<Long> ids) {
+        List<CommentRef> targets = commentRepository.findRefsByIdIn(ids);
+        if (targets.isEmpty()) {
+            return 0;
+        }
+        // 同一回复树中的评论一次读取，再按路径前缀找出要删除的回复
+        Set<Long> rootIds = new HashSet<>();
+        Set<String> paths = new HashSet<>();
+        for (CommentRef target : targets) {
+            if (target.getPath() != null) {
+                rootIds.add(target.getRootId());
+                paths.add(target.getPath());
+            }
+        }
+        Map<Long, CommentRef> deleted = new HashMap<>();
+        targets.forEach(target -> deleted.put(target.getId(), target));
+        if (!rootIds.isEmpty()) {
+            for (CommentRef ref : commentRepository.findRefsByRootIdIn(rootIds)) {
+                for (int end = PATH_SEGMENT_LENGTH; end <= ref.getPath().length(); end += PATH_SEGMENT_LENGTH) {
+                    if (paths.contains(ref.getPath().substring(0, end))) {
+                        deleted.put(ref.getId(), ref);
+                        break;
+                    }
+                }
+            }
+        }
+
+        commentRepository.deleteAllByIdInBatch(deleted.keySet());
+
+        Set<Long> articleIds = new HashSet<>();
+        Map<LocalDate, Map<Long, Integer>> byDateAndCategory = new HashMap<>();
+        for (CommentRef ref : deleted.values()) {
+            articleIds.add(ref.getArticleId());
+            if (ref.getCreatedAt() != null) {
+                byDateAndCategory.computeIfAbsent(ref.getCreatedAt().toLocalDate(), k -> new HashMap<>())
+                        .merge(ref.getCategoryId(), 1, Integer::sum);
+            }
+        }
+        articleRepository.recountComments(articleIds);
+        byDateAndCategory.forEach((date, byCategory) -> byCategory.forEach((categoryId, count) ->
+                dailyStatsService.commentChanged(date.atStartOfDay(), categoryId, -count)));
+        articleIds.forEach(snapshotPublisher::commentChanged);
+        return deleted.size();
     }
 
     @Override
@@ -97,15 +248,117 @@ public class CommentServiceImpl implements CommentService {
         // 默认状态为 APPROVED（已通过，无需审核）
         comment.setStatus(Comment.CommentStatus.APPROVED);
 
+        if (request.getParentId() != null) {
+            Comment parent = commentRepository.findById(request.getParentId())
+                    .filter(c -> c.getStatus() == Comment.CommentStatus.APPROVED)
+                    .orElseThrow(() -> new RuntimeException("回复的评论不存在"));
+            if (!parent.getArticle().getId().equals(article.getId())) {
+                throw new RuntimeException("回复的评论不属于该文章");
+            }
+            attachToParent(comment, parent);
+        }
+
+        saveComment(comment);
+    }
+
+    @Override
+    public CommentPageResult getApprovedComments(Long articleId, String cursor, Integer pageSize) {
+        // 只返回已审核通过的评论；多取一条用于判断是否还有下一页
+        Limit limit = Limit.of(pageSize + 1);
+        List<Comment> roots;
+        if (cursor == null || cursor.isEmpty()) {
+            roots = commentRepository.findTopLevel(articleId, Comment.CommentStatus.APPROVED, limit);
+        } else {
+            CursorUtil.Position position = CursorUtil.decode(cursor);
+            roots = commentRepository.findTopLevelAfter(articleId, Comment.CommentStatus.APPROVED,
+                    position.time(), position.id(), limit);
+        }
+
+        CommentPageResult result = new CommentPageResult();
+        if (roots.size() > pageSize) {
+            roots = roots.subList(0, pageSize);
+            Comment last = roots.get(roots.size() - 1);
+            result.setNextCursor(CursorUtil.encode(last.getCreatedAt(), last.getId()));
+        }
+
+        // 本页顶层评论的回复树一次读取
+        Map<Long, CommentDto> byId = new LinkedHashMap<>();
+        List<CommentDto> threads = new ArrayList<>(roots.size());
+        for (Comment root : roots) {
+            CommentDto dto = convertToPublicDto(root);
+            byId.put(root.getId(), dto);
+            threads.add(dto);
+        }
+        if (!roots.isEmpty()) {
+            for (Comment reply : commentRepository.findReplies(byId.keySet(), Comment.CommentStatus.APPROVED)) {
+                // 按路径排序，父评论总是先出现；父评论未通过审核时整棵子树不显示
+                CommentDto parent = byId.get(reply.getParentId());
+                if (parent != null) {
+                    CommentDto dto = convertToPublicDto(reply);
+                    parent.getReplies().add(dto);
+                    byId.put(reply.getId(), dto);
+                }
+            }
+        }
+        result.setList(threads);
+
+        return result;
+    }
+
+    /**
+     * 设置回复的父评论、顶层评论和路径前缀（自身ID在保存后追加）
+     * 超过最大层级时挂到父评论的上一级，保证路径长度有上限
+     */
+    private void attachToParent(Comment reply, Comment parent) {
+        String parentPath = parent.getPath() != null ? parent.getPath() : pathSegment(parent.getId());
+        Long parentId = parent.getId();
+        if (parentPath.length() / PATH_SEGMENT_LENGTH >= MAX_DEPTH) {
+            parentId = parent.getParentId();
+            parentPath = parentPath.substring(0, parentPath.length() - PATH_SEGMENT_LENGTH);
+        }
+        reply.setParentId(parentId);
+        reply.setRootId(parent.getRootId() != null ? parent.getRootId() : parent.getId());
+        reply.setPath(parentPath);
+    }
+
+    /**
+     * 保存评论（顶层评论或已设置父评论的回复），并更新文章评论数和统计
+     */
+    private void saveComment(Comment comment) {
+        Article article = comment.getArticle();
         commentRepository.save(comment);
+        // 主键由数据库生成，保存后才能补全路径，事务提交时随脏检查一并更新
+        if (comment.getParentId() == null) {
+            comment.setRootId(comment.getId());
+            comment.setPath(pathSegment(comment.getId()));
+        } else {
+            comment.setPath(comment.getPath() + pathSegment(comment.getId()));
+        }
+
+        dailyStatsService.commentChanged(comment.getCreatedAt(),
+                article.getCategory() != null ? article.getCategory().getId() : null, 1);
         // 增加文章评论数
-        articleService.updateCommentCount(request.getArticleId(), 1);
+        articleService.updateCommentCount(article.getId(), 1);
+        snapshotPublisher.commentChanged(article.getId());
     }
 
-    @Override
-    public CommentPageResult getApprovedComments(Long articleId) {
-        // 只返回已审核通过的评论
-        return getComments(1, 100, "approved", articleId);
+    private static String pathSegment(Long id) {
+        return String.format("%0" + PATH_SEGMENT_LENGTH + "d", id);
+    }
+
+    /**
+     * 前台评论不返回邮箱和 IP
+     */
+    private CommentDto convertToPublicDto(Comment comment) {
+        CommentDto dto = new CommentDto();
+        dto.setId(comment.getId());
+        dto.setContent(comment.getContent());
+        dto.setAuthor(comment.getAuthor());
+        dto.setParentId(comment.getParentId());
+        dto.setCreatedAt(comment.getCreatedAt() != null ?
+                comment.getCreatedAt().format(formatter) : null);
+        dto.setReplies(new ArrayList<>());
+        return dto;
     }
 
     private CommentDto convertToDto(Comment comment) {
@@ -116,6 +369,7 @@ public class CommentServiceImpl implements CommentService {
         dto.setEmail(comment.getEmail());
         dto.setStatus(comment.getStatus().name().toLowerCase());
         dto.setIp(comment.getIp());
+        dto.setParentId(comment.getParentId());
         dto.setCreatedAt(comment.getCreatedAt() != null ?
                 comment.getCreatedAt().format(formatter) : null);
 
@@ -0,0 +1,162 @@
+package com.sblogjava.service;
+
+import com.sblogjava.dao.ArticleCategoryRef;
+import com.sblogjava.dao.ArticleRepository;
+import com.sblogjava.dao.DailyStat;
+import com.sblogjava.dao.DailyStatRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 每日统计服务
+ * 文章、评论、留言、浏览量的变化按天和分类累加到 daily_stats 表，
+ * 仪表盘只需读取少量汇总行，不再扫描业务表
+ */
+@Service
+public class DailyStatsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DailyStatsService.class);
+
+    @Autowired
+    private DailyStatRepository dailyStatRepository;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private DashboardStreamService dashboardStreamService;
+
+    /**
+     * 文章变更后调整发布数，需在文章写入的同一事务中调用
+     * 发布数按首次发布日期统计，与回填任务的口径一致
+     * @param before 变更前的状态，新建文章时为 null
+     * @param after 变更后的状态，删除文章时为 null
+     * @param publishedAt 文章的首次发布时间，从未发布过时为 null
+     */
+    public void articleChanged(CategoryTagCounterService.State before, CategoryTagCounterService.State after,
+                               LocalDateTime publishedAt) {
+        if (publishedAt == null) {
+            return;
+        }
+        LocalDate date = publishedAt.toLocalDate();
+        Map<Long, Integer> deltas = new HashMap<>();
+        if (before != null && before.published()) {
+            deltas.merge(DailyStat.TOTAL, -1, Integer::sum);
+            if (before.categoryId() != null) {
+                deltas.merge(before.categoryId(), -1, Integer::sum);
+            }
+        }
+        if (after != null && after.published()) {
+            deltas.merge(DailyStat.TOTAL, 1, Integer::sum);
+            if (after.categoryId() != null) {
+                deltas.merge(after.categoryId(), 1, Integer::sum);
+            }
+        }
+        dashboardStreamService.articlesChanged(deltas.getOrDefault(DailyStat.TOTAL, 0));
+        deltas.forEach((categoryId, delta) -> {
+            if (delta != 0) {
+                dailyStatRepository.add(date, categoryId, delta, 0, 0, 0);
+            }
+        });
+    }
+
+    /**
+     * 评论新增（delta = 1）或删除（delta = -1）
+     * @param createdAt 评论的创建时间
+     * @param categoryId 评论所属文章的分类
+     */
+    public void commentChanged(LocalDateTime createdAt, Long categoryId, int delta) {
+        if (createdAt == null) {
+            return;
+        }
+        LocalDate date = createdAt.toLocalDate();
+        dashboardStreamService.commentChanged(delta);
+        dailyStatRepository.add(date, DailyStat.TOTAL, 0, delta, 0, 0);
+        if (categoryId != null) {
+            dailyStatRepository.add(date, categoryId, 0, delta, 0, 0);
+        }
+    }
+
+    /**
+     * 留言新增（delta = 1）或删除（delta = -1）
+     */
+    public void messageChanged(LocalDateTime createdAt, int delta) {
+        if (createdAt != null) {
+            dashboardStreamService.messageChanged(delta);
+            dailyStatRepository.add(createdAt.toLocalDate(), DailyStat.TOTAL, 0, 0, 0, delta);
+        }
+    }
+
+    /**
+     * 累加今天的浏览量（由 ViewCounterService 回写浏览量时调用）
+     * @param delta 每篇文章增加的浏览量
+     */
+    @Transactional
+    public void addViews(long delta, Collection<Long> articleIds) {
+        LocalDate today = LocalDate.now();
+        Map<Long, Long> byCategory = new HashMap<>();
+        for (ArticleCategoryRef ref : articleRepository.findCategoryIdsByArticleIds(articleIds)) {
+            if (ref.getCategoryId() != null) {
+                byCategory.merge(ref.getCategoryId(), delta, Long::sum);
+            }
+        }
+        dailyStatRepository.add(today, DailyStat.TOTAL, 0, 0, delta * articleIds.size(), 0);
+        byCategory.forEach((categoryId, views) -> dailyStatRepository.add(today, categoryId, 0, 0, views, 0));
+    }
+
+    /**
+     * 累加页面访问次数（由 VisitLogService 批量写入访问日志后调用）
+     * @param visits 每天写入的访问次数
+     */
+    @Transactional
+    public void addVisits(Map<LocalDate, Long> visits) {
+        visits.forEach(dailyStatRepository::addVisits);
+    }
+
+    /**
+     * 获取日期范围内每天的全站合计（没有数据的日期不返回）
+     */
+    public Map<LocalDate, DailyStat> getDailyTotals(LocalDate start, LocalDate end) {
+        Map<LocalDate, DailyStat> result = new HashMap<>();
+        List<DailyStat> stats = dailyStatRepository.findByCategoryIdAndStatDateBetweenOrderByStatDate(
+                DailyStat.TOTAL, start, end);
+        for (DailyStat stat : stats) {
+            result.put(stat.getStatDate(), stat);
+        }
+        return result;
+    }
+
+    /**
+     * 按业务表重新统计文章发布数、评论数、留言数、访问次数（浏览量无历史明细，保持不变）
+     * 可重复执行
+     */
+    @Transactional
+    public void backfill() {
+        long start = System.currentTimeMillis();
+        dailyStatRepository.resetDerivedCounts();
+        int rows = dailyStatRepository.backfillDerivedCounts();
+        logger.info("每日统计回填完成: {} 行, 耗时 {} ms", rows, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * 首次启动（统计表为空）时自动回填
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        if (dailyStatRepository.count() == 0) {
+            backfill();
+        }
+    }
+}
@@ -12,4 +12,9 @@ public interface DashboardService {
      * @return 图表数据
      */
     DashboardChartData getChartData(int days);
+
+    /**
+     * 按业务表重新统计每日数据
+     */
+    void rebuildDailyStats();
 }
@@ -4,16 +4,18 @@ import com.sblogjava.Dto.DashboardDto;
 import com.sblogjava.Dto.DashboardChartData;
 import com.sblogjava.dao.Article;
 import com.sblogjava.dao.ArticleRepository;
-import com.sblogjava.dao.Category;
+import com.sblogjava.dao.CategoryRepository;
 import com.sblogjava.dao.CommentRepository;
-import com.sblogjava.dao.Message;
+import com.sblogjava.dao.DailyStat;
 import com.sblogjava.dao.MessageRepository;
 import com.sblogjava.dao.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
@@ -35,14 +37,26 @@ public class DashboardServiceImpl implements DashboardService {
     @Autowired
     private CommentRepository commentRepository;
 
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ViewCounterService viewCounterService;
+
+    @Autowired
+    private DailyStatsService dailyStatsService;
+
+    @Autowired
+    private UniqueVisitorService uniqueVisitorService;
+
     private final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
 
     @Override
     public DashboardDto getDashboard() {
         DashboardDto dashboard = new DashboardDto();
 
-        // 统计数据
-        dashboard.setArticleCount(articleRepository.count());
+        // 统计数据（文章数只统计已发布文章，实时推送的增量也只计已发布文章）
+        dashboard.setArticleCount(articleRepository.countByStatus(Article.ArticleStatus.PUBLISHED));
         dashboard.setDraftCount(articleRepository.countByStatus(Article.ArticleStatus.DRAFT));
         dashboard.setCommentCount(commentRepository.count());
         dashboard.setMessageCount(messageRepository.count());
@@ -50,38 +64,25 @@ public class DashboardServiceImpl implements DashboardService {
 
         // 总访问量
         Long totalViews = articleRepository.sumViews();
-        dashboard.setViewCount(totalViews != null ? totalViews : 0L);
+        dashboard.setViewCount((totalViews != null ? totalViews : 0L) + viewCounterService.getPendingTotal());
 
-        // 今日访问 - 统计今天更新过的文章的总访问量
-        // 注意：这里只是简单的实现，如果要精确统计今日访问量，需要添加访问记录表
+        // 今日浏览量（每日统计 + 尚未回写的浏览量）、今日访问次数（每日统计）
         LocalDate today = LocalDate.now();
-        LocalDateTime startOfDay = today.atStartOfDay();
-        LocalDateTime endOfDay = today.plusDays(1).atStartOfDay();
-
-        List<Article> todayUpdatedArticles = articleRepository.findAll().stream()
-                .filter(a -> a.getUpdatedAt() != null &&
-                        !a.getUpdatedAt().isBefore(startOfDay) &&
-                        a.getUpdatedAt().isBefore(endOfDay))
-                .collect(Collectors.toList());
-
-        long todayViews = todayUpdatedArticles.stream()
-                .mapToLong(Article::getViews)
-                .sum();
-        dashboard.setTodayViews(todayViews);
-
-        // 最近文章
-        List<Article> recentArticles = articleRepository.findAll()
-                .stream()
-                .sorted((a, b) -> b.getCreatedAt().compareTo(a.getCreatedAt()))
-                .limit(5)
-                .collect(Collectors.toList());
-
-        List<DashboardDto.RecentArticle> recentArticleDtos = recentArticles.stream()
+        DailyStat todayStat = dailyStatsService.getDailyTotals(today, today).get(today);
+        dashboard.setTodayViews((todayStat != null ? todayStat.getViews() : 0L) + viewCounterService.getPendingTotal());
+        dashboard.setTodayVisits(todayStat != null ? todayStat.getVisits() : 0L);
+        dashboard.setTodayUv(uniqueVisitorService.getDailyUniqueVisitors(today));
+        dashboard.setWeekUv(uniqueVisitorService.getUniqueVisitors(7));
+
+        // 最近文章（只查询列表字段）
+        Pageable recent = PageRequest.of(0, 5, Sort.by(Sort.Direction.DESC, "createdAt"));
+        List<DashboardDto.RecentArticle> recentArticleDtos = articleRepository.findAllSummaries(recent)
+                .getContent().stream()
                 .map(article -> {
                     DashboardDto.RecentArticle ra = new DashboardDto.RecentArticle();
                     ra.setId(article.getId());
                     ra.setTitle(article.getTitle());
-                    ra.setViews(article.getViews());
+                    ra.setViews(article.getViews() + (int) viewCounterService.getPending(article.getId()));
                     ra.setDate(article.getCreatedAt() != null ?
                             article.getCreatedAt().format(formatter) : null);
                     return ra;
@@ -97,65 +98,33 @@ public class DashboardServiceImpl implements DashboardService {
     public DashboardChartData getChartData(int days) {
         DashboardChartData chartData = new DashboardChartData();
 
-        // 1. 获取趋势数据
+        // 1. 趋势数据：读取每日统计的全站合计行
+        LocalDate end = LocalDate.now();
+        LocalDate start = end.minusDays(days - 1);
+        Map<LocalDate, DailyStat> stats = dailyStatsService.getDailyTotals(start, end);
+
         List<DashboardChartData.TrendData> trendDataList = new ArrayList<>();
         DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("MM/dd");
-
-        for (int i = days - 1; i >= 0; i--) {
-            LocalDate date = LocalDate.now().minusDays(i);
-            LocalDateTime startOfDay = date.atStartOfDay();
-            LocalDateTime endOfDay = date.plusDays(1).atStartOfDay();
-
+        for (LocalDate date = start; !date.isAfter(end); date = date.plusDays(1)) {
+            DailyStat stat = stats.get(date);
             DashboardChartData.TrendData trendData = new DashboardChartData.TrendData();
             trendData.setDate(date.format(dateFormatter));
-
-            // 当天发布的文章数量
-            long articleCount = articleRepository.findAll().stream()
-                    .filter(a -> a.getCreatedAt() != null &&
-                            !a.getCreatedAt().isBefore(startOfDay) &&
-                            a.getCreatedAt().isBefore(endOfDay) &&
-                            a.getStatus() == Article.ArticleStatus.PUBLISHED)
-                    .count();
-            trendData.setArticleCount(articleCount);
-
-            // 当天的评论数量（需要统计当天创建的评论）
-            // 注意：这里使用所有文章的评论总和作为简化实现
-            long commentCount = articleRepository.findAll().stream()
-                    .filter(a -> a.getCreatedAt() != null &&
-                            !a.getCreatedAt().isBefore(startOfDay) &&
-                            a.getCreatedAt().isBefore(endOfDay))
-                    .mapToLong(Article::getComments)
-                    .sum();
-            trendData.setCommentCount(commentCount);
-
-            // 当天的访问量（当天创建/更新的文章的总浏览量）
-            long viewCount = articleRepository.findAll().stream()
-                    .filter(a -> (a.getCreatedAt() != null &&
-                            !a.getCreatedAt().isBefore(startOfDay) &&
-                            a.getCreatedAt().isBefore(endOfDay)) ||
-                           (a.getUpdatedAt() != null &&
-                            !a.getUpdatedAt().isBefore(startOfDay) &&
-                            a.getUpdatedAt().isBefore(endOfDay)))
-                    .mapToLong(Article::getViews)
-                    .sum();
-            trendData.setViewCount(viewCount);
-
+            trendData.setArticleCount(stat != null ? stat.getArticlesPublished() : 0L);
+            trendData.setCommentCount(stat != null ? stat.getCommentsCreated() : 0L);
+            trendData.setViewCount(stat != null ? stat.getViews() : 0L);
+            trendData.setMessageCount(stat != null ? stat.getMessagesCreated() : 0L);
             trendDataList.add(trendData);
         }
 
         chartData.setTrendData(trendDataList);
 
-        // 2. 获取分类统计数据
-        List<Article> allArticles = articleRepository.findAll();
-        Map<Category, List<Article>> articlesByCategory = allArticles.stream()
-                .filter(a -> a.getCategory() != null && a.getStatus() == Article.ArticleStatus.PUBLISHED)
-                .collect(Collectors.groupingBy(Article::getCategory));
-
-        List<DashboardChartData.CategoryStat> categoryStats = articlesByCategory.entrySet().stream()
-                .map(entry -> {
+        // 2. 分类统计：读取分类表维护的已发布文章数
+        List<DashboardChartData.CategoryStat> categoryStats = categoryRepository.findAll().stream()
+                .filter(category -> category.getArticleCount() > 0)
+                .map(category -> {
                     DashboardChartData.CategoryStat stat = new DashboardChartData.CategoryStat();
-                    stat.setName(entry.getKey().getName());
-                    stat.setCount((long) entry.getValue().size());
+                    stat.setName(category.getName());
+                    stat.setCount(category.getArticleCount().longValue());
                     return stat;
                 })
                 .collect(Collectors.toList());
@@ -164,4 +133,9 @@ public class DashboardServiceImpl implements DashboardService {
 
         return chartData;
     }
+
+    @Override
+    public void rebuildDailyStats() {
+        dailyStatsService.backfill();
+    }
 }
@@ -0,0 +1,191 @@
+package com.sblogjava.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sblogjava.util.TransactionUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 仪表盘实时推送服务
+ * 写入路径只累加内存计数器，定时任务每个周期取出一次增量、序列化一次，
+ * 再推送给所有已连接的后台页面（SSE），连接数增加不会增加统计开销。
+ * 浏览器的 EventSource 无法携带 Authorization 头，连接时改用一次性的短期令牌（URL 参数）
+ */
+@Service
+public class DashboardStreamService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DashboardStreamService.class);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final LongAdder views = new LongAdder();
+    private final LongAdder comments = new LongAdder();
+    private final LongAdder messages = new LongAdder();
+    private final LongAdder articles = new LongAdder();
+
+    private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+
+    // 连接超时时间（毫秒），超时后由前端重连
+    @Value("${dashboard.stream.timeout:1800000}")
+    private long timeout;
+
+    // 最大连接数，超出时关闭最早的连接
+    @Value("${dashboard.stream.max-subscribers:50}")
+    private int maxSubscribers;
+
+    // 没有数据变化时发送心跳的间隔（毫秒），避免代理断开空闲连接
+    @Value("${dashboard.stream.heartbeat-interval:15000}")
+    private long heartbeatInterval;
+
+    // 连接令牌的有效期（毫秒）
+    @Value("${dashboard.stream.token-ttl:30000}")
+    private long tokenTtl;
+
+    // 未使用的连接令牌数上限
+    @Value("${dashboard.stream.max-tokens:1000}")
+    private int maxTokens;
+
+    private final SecureRandom random = new SecureRandom();
+
+    // 连接令牌 -> 过期时间
+    private final Map<String, Long> streamTokens = new ConcurrentHashMap<>();
+
+    private long lastSentAt = System.currentTimeMillis();
+
+    /**
+     * 签发一次性连接令牌（已登录的后台请求调用）
+     */
+    public String issueToken() {
+        long now = System.currentTimeMillis();
+        if (streamTokens.size() >= maxTokens) {
+            streamTokens.values().removeIf(expiresAt -> expiresAt < now);
+            if (streamTokens.size() >= maxTokens) {
+                throw new RuntimeException("请求过于频繁，请稍后重试");
+            }
+        }
+        byte[] bytes = new byte[24];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        streamTokens.put(token, now + tokenTtl);
+        return token;
+    }
+
+    /**
+     * 校验并作废连接令牌，每个令牌只能使用一次
+     */
+    public boolean consumeToken(String token) {
+        if (token == null || token.isEmpty()) {
+            return false;
+        }
+        Long expiresAt = streamTokens.remove(token);
+        return expiresAt != null && expiresAt >= System.currentTimeMillis();
+    }
+
+    /**
+     * 建立推送连接
+     */
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(timeout);
+        emitter.onCompletion(() -> emitters.remove(emitter));
+        emitter.onTimeout(() -> emitters.remove(emitter));
+        emitter.onError(e -> emitters.remove(emitter));
+        emitters.add(emitter);
+        while (emitters.size() > maxSubscribers) {
+            SseEmitter oldest = emitters.remove(0);
+            oldest.complete();
+        }
+        try {
+            emitter.send(SseEmitter.event().name("connected").data("ok"));
+        } catch (IOException e) {
+            emitters.remove(emitter);
+        }
+        return emitter;
+    }
+
+    /**
+     * 文章被浏览（浏览量先在内存中计数，因此立即推送）
+     */
+    public void viewed() {
+        views.increment();
+    }
+
+    /**
+     * 评论新增或删除，事务提交后计入
+     */
+    public void commentChanged(int delta) {
+        TransactionUtil.afterCommit(() -> comments.add(delta));
+    }
+
+    /**
+     * 留言新增或删除，事务提交后计入
+     */
+    public void messageChanged(int delta) {
+        TransactionUtil.afterCommit(() -> messages.add(delta));
+    }
+
+    /**
+     * 已发布文章数变化，事务提交后计入
+     */
+    public void articlesChanged(int delta) {
+        TransactionUtil.afterCommit(() -> articles.add(delta));
+    }
+
+    /**
+     * 定时推送增量
+     * 没有连接时也取出计数，丢弃无人接收的增量
+     */
+    @Scheduled(fixedDelayString = "${dashboard.stream.interval:2000}")
+    public void broadcast() {
+        Map<String, Long> delta = new LinkedHashMap<>();
+        delta.put("views", views.sumThenReset());
+        delta.put("comments", comments.sumThenReset());
+        delta.put("messages", messages.sumThenReset());
+        delta.put("articles", articles.sumThenReset());
+        if (emitters.isEmpty()) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        SseEmitter.SseEventBuilder event;
+        if (delta.values().stream().anyMatch(value -> value != 0)) {
+            delta.put("timestamp", now);
+            try {
+                event = SseEmitter.event().name("delta")
+                        .data(objectMapper.writeValueAsString(delta), MediaType.APPLICATION_JSON);
+            } catch (JsonProcessingException e) {
+                logger.error("仪表盘增量序列化失败", e);
+                return;
+            }
+        } else if (now - lastSentAt >= heartbeatInterval) {
+            event = SseEmitter.event().comment("heartbeat");
+        } else {
+            return;
+        }
+        lastSentAt = now;
+
+        for (SseEmitter emitter : emitters) {
+            try {
+                emitter.send(event);
+            } catch (IOException | IllegalStateException e) {
+                // 连接已断开
+                emitters.remove(emitter);
+            }
+        }
+    }
+}
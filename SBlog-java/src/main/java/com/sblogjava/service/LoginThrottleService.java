@@ -0,0 +1,106 @@
+package com.sblogjava.service;
+
+import com.sblogjava.util.TokenBucket;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 登录尝试限制
+ * 按 IP、按（用户名, IP）各维护一个令牌桶，在计算密码哈希之前检查，
+ * 超出频率的尝试直接拒绝，不消耗 BCrypt 线程。
+ * 用户名的令牌桶按 IP 区分：其他 IP 的尝试不会锁定该用户，整体频率由 IP 的令牌桶限制
+ */
+@Service
+public class LoginThrottleService {
+
+    // 同一 IP 对同一用户名在窗口内允许的尝试次数
+    @Value("${login.throttle.username-max:5}")
+    private int usernameMax;
+
+    // 同一 IP 在窗口内允许的尝试次数
+    @Value("${login.throttle.ip-max:20}")
+    private int ipMax;
+
+    // 窗口长度（秒），令牌在窗口内匀速补满
+    @Value("${login.throttle.window:60}")
+    private long window;
+
+    // 令牌桶数量上限
+    @Value("${login.throttle.max-buckets:100000}")
+    private int maxBuckets;
+
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    /**
+     * 记录一次尝试，超出频率时抛出异常
+     * 先检查 IP：已被限制的 IP 不再消耗（也不创建）用户名的令牌桶
+     * @param ip 客户端IP，为 null 时只按用户名限制
+     */
+    public void check(String username, String ip) {
+        long now = System.nanoTime();
+        long waitNanos = 0;
+        if (ip != null) {
+            waitNanos = acquire("ip:" + ip, "overflow:ip", ipMax, now);
+        }
+        if (waitNanos == 0 && username != null && !username.isEmpty()) {
+            waitNanos = acquire(userKey(username, ip), "overflow:user", usernameMax, now);
+        }
+        if (waitNanos > 0) {
+            long seconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos));
+            throw new RuntimeException("尝试次数过多，请 " + seconds + " 秒后重试");
+        }
+    }
+
+    /**
+     * 登录成功后重置该 IP 对该用户名的计数
+     */
+    public void reset(String username, String ip) {
+        if (username != null) {
+            buckets.remove(userKey(username, ip));
+        }
+    }
+
+    /**
+     * 定期清理已补满的令牌桶
+     */
+    @Scheduled(fixedDelayString = "${login.throttle.cleanup-interval:60000}")
+    public void cleanup() {
+        buckets.values().removeIf(bucket -> bucket.isFull(System.nanoTime()));
+    }
+
+    private static String userKey(String username, String ip) {
+        return "user:" + username.toLowerCase() + "@" + ip;
+    }
+
+    /**
+     * @param overflowKey 令牌桶数量达到上限时新来源共用的桶
+     */
+    private long acquire(String key, String overflowKey, int capacity, long now) {
+        TokenBucket bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= maxBuckets && !evict(now)) {
+                // 所有桶都在限流中：不能删除其他来源的桶（否则其限额会被重置），新来源共用溢出桶
+                key = overflowKey;
+            }
+            bucket = buckets.computeIfAbsent(key,
+                    k -> new TokenBucket(capacity, TimeUnit.SECONDS.toNanos(window), now));
+        }
+        return bucket.tryAcquire(now);
+    }
+
+    /**
+     * 令牌桶数量达到上限时清理已补满的桶（与新建的桶等价，删除不影响限额）
+     * @return 清理后是否还能新建令牌桶
+     */
+    private synchronized boolean evict(long now) {
+        if (buckets.size() >= maxBuckets) {
+            buckets.values().removeIf(bucket -> bucket.isFull(now));
+        }
+        return buckets.size() < maxBuckets;
+    }
+}
@@ -0,0 +1,119 @@
+package com.sblogjava.service;
+
+import com.sblogjava.dao.Article;
+import org.commonmark.Extension;
+import org.commonmark.ext.gfm.strikethrough.StrikethroughExtension;
+import org.commonmark.ext.gfm.tables.TablesExtension;
+import org.commonmark.parser.Parser;
+import org.commonmark.renderer.html.HtmlRenderer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 文章 Markdown 渲染服务
+ * 正文按内容摘要渲染为 HTML 并缓存，同一内容只渲染一次。
+ * 原始 HTML 会被转义、链接地址会被清理，输出可直接在前端展示
+ */
+@Service
+public class MarkdownRenderService {
+
+    private static final List<Extension> EXTENSIONS = List.of(
+            TablesExtension.create(),
+            StrikethroughExtension.create()
+    );
+
+    // Parser 和 HtmlRenderer 都是线程安全的，全局复用
+    private final Parser parser = Parser.builder()
+            .extensions(EXTENSIONS)
+            .build();
+
+    private final HtmlRenderer renderer = HtmlRenderer.builder()
+            .extensions(EXTENSIONS)
+            .escapeHtml(true)
+            .sanitizeUrls(true)
+            .build();
+
+    // 文章ID -> 最近一次渲染的内容，按访问顺序淘汰最久未使用的文章
+    private final Map<Long, RenderedRevision> cache;
+
+    public MarkdownRenderService(@Value("${markdown.cache.max-entries:500}") int maxEntries) {
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, RenderedRevision> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * 获取文章正文的 HTML，缓存中没有当前内容时同步渲染
+     */
+    public String getHtml(Article article) {
+        byte[] digest = digest(article.getContent());
+        String html = getCached(article.getId(), digest);
+        if (html != null) {
+            return html;
+        }
+        return renderAndCache(article.getId(), digest, article.getContent());
+    }
+
+    /**
+     * 后台预渲染文章的新内容（文章保存后调用）
+     */
+    @Async
+    public void prerender(Long articleId, String content) {
+        byte[] digest = digest(content);
+        if (getCached(articleId, digest) == null) {
+            renderAndCache(articleId, digest, content);
+        }
+    }
+
+    /**
+     * 移除文章的渲染缓存
+     */
+    public void evict(Long articleId) {
+        synchronized (cache) {
+            cache.remove(articleId);
+        }
+    }
+
+    private String getCached(Long articleId, byte[] digest) {
+        synchronized (cache) {
+            RenderedRevision rendered = cache.get(articleId);
+            return rendered != null && MessageDigest.isEqual(rendered.digest(), digest) ? rendered.html() : null;
+        }
+    }
+
+    private String renderAndCache(Long articleId, byte[] digest, String content) {
+        // 渲染在锁外进行，避免长文章阻塞其他请求
+        String html = renderer.render(parser.parse(content != null ? content : ""));
+        // 以内容摘要为键，迟到的旧内容即使覆盖了缓存，读取新内容时也只会重新渲染，不会返回旧 HTML
+        synchronized (cache) {
+            cache.put(articleId, new RenderedRevision(digest, html));
+        }
+        return html;
+    }
+
+    /**
+     * 正文的 SHA-256 摘要，作为渲染结果的版本号（不依赖 updatedAt 的时间精度）
+     */
+    private static byte[] digest(String content) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return digest.digest((content != null ? content : "").getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record RenderedRevision(byte[] digest, String html) {
+    }
+}
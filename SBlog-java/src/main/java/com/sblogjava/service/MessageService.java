@@ -1,5 +1,6 @@
 package com.sblogjava.service;
 
+import com.sblogjava.Dto.BulkModerationRequest;
 import com.sblogjava.Dto.MessageDto;
 import com.sblogjava.Dto.MessagePageResult;
 import com.sblogjava.Dto.MessageReplyRequest;
@@ -10,4 +11,10 @@ public interface MessageService {
     void replyMessage(Long id, MessageReplyRequest request);
 
     void deleteMessage(Long id);
+
+    /**
+     * 批量修改回复状态或删除留言，按批执行，每批一个事务
+     * @return 受影响的留言数
+     */
+    int bulkModerate(BulkModerationRequest request);
 }
@@ -1,18 +1,29 @@
 package com.sblogjava.service;
 
+import com.sblogjava.Dto.BulkModerationRequest;
 import com.sblogjava.Dto.MessageDto;
 import com.sblogjava.Dto.MessagePageResult;
 import com.sblogjava.Dto.MessageReplyRequest;
 import com.sblogjava.dao.Message;
 import com.sblogjava.dao.MessageRepository;
+import com.sblogjava.util.ChunkUtil;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -21,6 +32,16 @@ public class MessageServiceImpl implements MessageService {
     @Autowired
     private MessageRepository messageRepository;
 
+    @Autowired
+    private DailyStatsService dailyStatsService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // 批量处理每批的留言数
+    @Value("${moderation.bulk.chunk-size:500}")
+    private int bulkChunkSize;
+
     private final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
     @Override
@@ -59,11 +80,71 @@ public class MessageServiceImpl implements MessageService {
     }
 
     @Override
+    @Transactional
     public void deleteMessage(Long id) {
-        if (!messageRepository.existsById(id)) {
-            throw new RuntimeException("留言不存在");
+        Message message = messageRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("留言不存在"));
+        messageRepository.delete(message);
+        dailyStatsService.messageChanged(message.getCreatedAt(), -1);
+    }
+
+    @Override
+    public int bulkModerate(BulkModerationRequest request) {
+        String action = request.getAction() != null ? request.getAction().toLowerCase() : "";
+        Message.MessageStatus target = switch (action) {
+            case "replied" -> Message.MessageStatus.REPLIED;
+            case "pending" -> Message.MessageStatus.PENDING;
+            case "delete" -> null;
+            default -> throw new RuntimeException("不支持的操作: " + request.getAction());
+        };
+        // 每批在独立的事务中执行，避免长事务和大范围锁
+        Function<List<Long>, Integer> apply = ids -> transactionTemplate.execute(tx ->
+                target != null ? messageRepository.updateStatus(ids, target) : deleteInBatch(ids));
+
+        int affected = 0;
+        if (request.getIds() != null && !request.getIds().isEmpty()) {
+            for (List<Long> chunk : ChunkUtil.partition(request.getIds(), bulkChunkSize)) {
+                affected += apply.apply(chunk);
+            }
+            return affected;
+        }
+
+        // 空白的状态视为未指定，不能作为筛选条件
+        Message.MessageStatus status = StringUtils.hasText(request.getStatus())
+                ? Message.MessageStatus.valueOf(request.getStatus().trim().toUpperCase()) : null;
+        if (status == null && request.getOlderThanDays() == null) {
+            throw new RuntimeException("请指定要处理的留言或筛选条件");
+        }
+        LocalDateTime before = request.getOlderThanDays() != null
+                ? LocalDateTime.now().minusDays(request.getOlderThanDays()) : null;
+        // 按ID递增分批读取，处理过的记录不会再次读取
+        long afterId = 0;
+        while (true) {
+            List<Long> chunk = messageRepository.findIdsForModeration(afterId, status, before, Limit.of(bulkChunkSize));
+            if (chunk.isEmpty()) {
+                break;
+            }
+            affected += apply.apply(chunk);
+            afterId = chunk.get(chunk.size() - 1);
+        }
+        return affected;
+    }
+
+    /**
+     * 删除一批留言，按日期合并调整每日统计
+     * @return 删除的留言数
+     */
+    private int deleteInBatch(List<Long> ids) {
+        List<LocalDateTime> createdAts = messageRepository.findCreatedAtByIdIn(ids);
+        if (createdAts.isEmpty()) {
+            return 0;
         }
-        messageRepository.deleteById(id);
+        messageRepository.deleteAllByIdInBatch(ids);
+        Map<LocalDate, Long> byDate = createdAts.stream()
+                .filter(createdAt -> createdAt != null)
+                .collect(Collectors.groupingBy(LocalDateTime::toLocalDate, Collectors.counting()));
+        byDate.forEach((date, count) -> dailyStatsService.messageChanged(date.atStartOfDay(), -count.intValue()));
+        return createdAts.size();
     }
 
     private MessageDto convertToDto(Message message) {
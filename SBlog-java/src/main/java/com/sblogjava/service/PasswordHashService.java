@@ -0,0 +1,128 @@
+package com.sblogjava.service;
+
+import com.sblogjava.common.ServiceBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 密码哈希服务
+ * BCrypt 计算放在固定大小的线程池中执行，等待队列有上限；
+ * 队列已满或等待超时时立即返回 503，避免登录请求占满 Tomcat 请求线程、拖慢前台文章访问
+ */
+@Service
+public class PasswordHashService {
+
+    private static final String BUSY_MESSAGE = "服务繁忙，请稍后重试";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // BCrypt 强度（2^strength 轮）
+    @Value("${password.bcrypt.strength:10}")
+    private int strength;
+
+    // 哈希线程数，0 表示 CPU 核数的一半
+    @Value("${password.hash.threads:0}")
+    private int threads;
+
+    // 等待队列长度
+    @Value("${password.hash.queue-size:32}")
+    private int queueSize;
+
+    // 请求线程等待结果的最长时间（毫秒）
+    @Value("${password.hash.timeout:2000}")
+    private long timeout;
+
+    private PasswordEncoder passwordEncoder;
+
+    private ThreadPoolExecutor executor;
+
+    private Counter rejectedCounter;
+
+    @PostConstruct
+    public void init() {
+        passwordEncoder = new BCryptPasswordEncoder(strength);
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger sequence = new AtomicInteger();
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        rejectedCounter = meterRegistry.counter("password_hash.rejected");
+        Gauge.builder("password_hash.queue.size", executor, e -> e.getQueue().size()).register(meterRegistry);
+    }
+
+    /**
+     * 计算密码哈希
+     * @throws ServiceBusyException 队列已满或等待超时
+     */
+    public String encode(String rawPassword) {
+        return submit(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * 校验密码
+     * @throws ServiceBusyException 队列已满或等待超时
+     */
+    public boolean matches(String rawPassword, String encodedPassword) {
+        if (rawPassword == null || encodedPassword == null) {
+            return false;
+        }
+        return submit(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> T submit(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            throw new ServiceBusyException(BUSY_MESSAGE);
+        }
+        try {
+            return future.get(timeout, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // 还在排队的任务直接取消，不再占用哈希线程
+            future.cancel(true);
+            rejectedCounter.increment();
+            throw new ServiceBusyException(BUSY_MESSAGE);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceBusyException(BUSY_MESSAGE);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+}
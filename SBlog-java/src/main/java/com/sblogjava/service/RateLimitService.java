@@ -0,0 +1,182 @@
+package com.sblogjava.service;
+
+import com.sblogjava.util.TokenBucket;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 限流服务
+ * 按路径规则为每个客户端 IP 维护令牌桶：
+ * local 模式下令牌桶保存在进程内（有数量上限，补满的桶定期清理；达到上限时新客户端共用溢出桶，不删除正在限流的桶）；
+ * redis 模式下通过 Lua 脚本在 Redis 中原子扣减，多个实例共享限额，Redis 不可用时临时改用进程内令牌桶
+ */
+@Service
+public class RateLimitService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateLimitService.class);
+
+    private static final String KEY_PREFIX = "rate:";
+
+    @Autowired
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Value("${rate-limit.enabled:true}")
+    private boolean enabled;
+
+    // local 或 redis
+    @Value("${rate-limit.mode:local}")
+    private String mode;
+
+    // 规则格式：[请求方法 ]路径模式=容量/秒数，多条用逗号分隔，按顺序匹配第一条
+    @Value("${rate-limit.rules:POST /api/articles/*/comments=5/60,/api/**=300/60}")
+    private String rulesConfig;
+
+    // 进程内令牌桶数量上限
+    @Value("${rate-limit.max-buckets:100000}")
+    private int maxBuckets;
+
+    // Redis 失败后多久再重试（毫秒）
+    @Value("${rate-limit.redis-retry-interval:30000}")
+    private long redisRetryInterval;
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    private List<Rule> rules = Collections.emptyList();
+
+    private DefaultRedisScript<Long> script;
+
+    private volatile long redisRetryAt;
+
+    @PostConstruct
+    public void init() {
+        rules = parseRules(rulesConfig);
+        script = new DefaultRedisScript<>();
+        script.setLocation(new ClassPathResource("scripts/token_bucket.lua"));
+        script.setResultType(Long.class);
+        logger.info("限流规则（{} 模式）: {}", mode, rules);
+    }
+
+    /**
+     * 查找请求匹配的限流规则，没有匹配的规则时返回 null
+     */
+    public Rule match(String method, String path) {
+        if (!enabled) {
+            return null;
+        }
+        for (Rule rule : rules) {
+            if ((rule.method() == null || rule.method().equalsIgnoreCase(method))
+                    && pathMatcher.match(rule.pattern(), path)) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 为客户端获取一个令牌
+     * @return 0 表示放行，否则为需要等待的毫秒数
+     */
+    public long acquire(Rule rule, String client) {
+        String key = rule.index() + ":" + client;
+        if ("redis".equals(mode) && System.currentTimeMillis() >= redisRetryAt) {
+            try {
+                Long wait = redisTemplate.execute(script, List.of(KEY_PREFIX + key),
+                        rule.capacity(), (double) rule.capacity() / TimeUnit.SECONDS.toMillis(rule.periodSeconds()));
+                return wait != null ? wait : 0;
+            } catch (RuntimeException e) {
+                redisRetryAt = System.currentTimeMillis() + redisRetryInterval;
+                logger.warn("Redis 不可用，限流改为进程内令牌桶: {}", e.getMessage());
+            }
+        }
+        return acquireLocal(rule, key);
+    }
+
+    private long acquireLocal(Rule rule, String key) {
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= maxBuckets && !evict(now)) {
+                // 所有桶都在限流中：新客户端共用该规则的溢出桶，不能删除其他客户端的桶（否则其限额会被重置）
+                key = rule.index() + ":overflow";
+            }
+            bucket = buckets.computeIfAbsent(key,
+                    k -> new TokenBucket(rule.capacity(), TimeUnit.SECONDS.toNanos(rule.periodSeconds()), now));
+        }
+        long waitNanos = bucket.tryAcquire(now);
+        return waitNanos == 0 ? 0 : Math.max(1, TimeUnit.NANOSECONDS.toMillis(waitNanos));
+    }
+
+    /**
+     * 定期清理已补满的令牌桶
+     */
+    @Scheduled(fixedDelayString = "${rate-limit.cleanup-interval:60000}")
+    public void cleanup() {
+        buckets.values().removeIf(bucket -> bucket.isFull(System.nanoTime()));
+    }
+
+    /**
+     * 令牌桶数量达到上限时清理已补满的桶（与新建的桶等价，删除不影响限额）
+     * @return 清理后是否还能新建令牌桶
+     */
+    private synchronized boolean evict(long now) {
+        if (buckets.size() >= maxBuckets) {
+            buckets.values().removeIf(bucket -> bucket.isFull(now));
+        }
+        return buckets.size() < maxBuckets;
+    }
+
+    static List<Rule> parseRules(String config) {
+        List<Rule> result = new ArrayList<>();
+        for (String item : config.split(",")) {
+            String text = item.trim();
+            if (text.isEmpty()) {
+                continue;
+            }
+            try {
+                int eq = text.lastIndexOf('=');
+                String target = text.substring(0, eq).trim();
+                String[] limit = text.substring(eq + 1).trim().split("/");
+                String method = null;
+                int space = target.indexOf(' ');
+                if (space > 0) {
+                    method = target.substring(0, space);
+                    target = target.substring(space + 1).trim();
+                }
+                int capacity = Integer.parseInt(limit[0].trim());
+                long periodSeconds = Long.parseLong(limit[1].trim());
+                if (capacity <= 0 || periodSeconds <= 0) {
+                    throw new IllegalArgumentException();
+                }
+                result.add(new Rule(result.size(), method, target, capacity, periodSeconds));
+            } catch (RuntimeException e) {
+                throw new RuntimeException("限流规则格式错误: " + text);
+            }
+        }
+        return List.copyOf(result);
+    }
+
+    /**
+     * 限流规则：periodSeconds 秒内最多 capacity 次请求（允许 capacity 次突发）
+     * @param method 请求方法，null 表示所有方法
+     */
+    public record Rule(int index, String method, String pattern, int capacity, long periodSeconds) {
+    }
+}
@@ -0,0 +1,269 @@
+package com.sblogjava.service;
+
+import com.sblogjava.dao.Article;
+import com.sblogjava.dao.ArticleRepository;
+import com.sblogjava.dao.Tag;
+import com.sblogjava.util.CjkTokenizer;
+import com.sblogjava.util.TransactionUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * 相关文章服务
+ * 为每篇已发布文章预先计算最相似的 K 篇文章，查询时直接从内存读取。
+ * 相似度 = 标签 Jaccard 系数 + 同分类加分 + 标题词 Jaccard 系数（可关闭），
+ * 文章保存后只重新计算受影响文章的列表
+ */
+@Service
+public class RelatedArticleService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RelatedArticleService.class);
+
+    // 各部分相似度的权重
+    private static final double TAG_WEIGHT = 0.6;
+    private static final double CATEGORY_WEIGHT = 0.25;
+    private static final double TERM_WEIGHT = 0.15;
+
+    private static final int REBUILD_BATCH_SIZE = 200;
+
+    private static final Comparator<Scored> BY_SCORE = Comparator.comparingDouble(Scored::score).reversed()
+            .thenComparing(Comparator.comparingLong(Scored::id).reversed());
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Value("${article.related.top-k:5}")
+    private int topK;
+
+    @Value("${article.related.use-terms:true}")
+    private boolean useTerms;
+
+    // 文章ID -> 相关文章ID（按相似度排序，不可变列表，读取无需加锁）
+    private final Map<Long, List<Long>> related = new ConcurrentHashMap<>();
+
+    // 以下结构只在持有 this 锁时访问
+    // 文章ID -> 相关文章及得分
+    private final Map<Long, List<Scored>> topLists = new HashMap<>();
+    // 文章ID -> 把该文章列为相关文章的文章ID
+    private final Map<Long, Set<Long>> referencedBy = new HashMap<>();
+    private final Map<Long, Features> features = new HashMap<>();
+    private final Map<Long, Set<Long>> byCategory = new HashMap<>();
+    private final Map<Long, Set<Long>> byTag = new HashMap<>();
+    private final Map<String, Set<Long>> byTerm = new HashMap<>();
+
+    /**
+     * 获取文章的相关文章ID（按相似度从高到低）
+     */
+    public List<Long> getRelated(Long articleId) {
+        return related.getOrDefault(articleId, Collections.emptyList());
+    }
+
+    /**
+     * 启动后全量计算
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        List<Long> ids = articleRepository.findIdsByStatus(Article.ArticleStatus.PUBLISHED);
+        synchronized (this) {
+            for (int i = 0; i < ids.size(); i += REBUILD_BATCH_SIZE) {
+                List<Long> batch = ids.subList(i, Math.min(i + REBUILD_BATCH_SIZE, ids.size()));
+                for (Article article : articleRepository.findWithDetailsByIdIn(batch)) {
+                    addFeatures(article.getId(), extract(article));
+                }
+            }
+            for (Long id : features.keySet()) {
+                recompute(id);
+            }
+        }
+        logger.info("相关文章计算完成: {} 篇文章, 耗时 {} ms", ids.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * 文章保存后更新（已发布的文章参与计算，其他状态移除），事务提交后生效
+     */
+    public void index(Article article) {
+        Long id = article.getId();
+        if (article.getStatus() != Article.ArticleStatus.PUBLISHED) {
+            TransactionUtil.afterCommit(() -> remove(id));
+            return;
+        }
+        Features extracted = extract(article);
+        TransactionUtil.afterCommit(() -> put(id, extracted));
+    }
+
+    /**
+     * 移除文章，并为原先引用它的文章重新计算
+     */
+    public synchronized void remove(Long id) {
+        if (!features.containsKey(id)) {
+            return;
+        }
+        removeFeatures(id);
+        dropList(id);
+        Set<Long> referrers = referencedBy.remove(id);
+        if (referrers != null) {
+            for (Long referrer : referrers) {
+                recompute(referrer);
+            }
+        }
+    }
+
+    private synchronized void put(Long id, Features extracted) {
+        remove(id);
+        addFeatures(id, extracted);
+        recompute(id);
+
+        // 新文章可能进入其他文章的前 K 名
+        for (Scored candidate : candidates(id)) {
+            List<Scored> list = topLists.getOrDefault(candidate.id(), Collections.emptyList());
+            if (list.size() < topK || BY_SCORE.compare(new Scored(id, candidate.score()), list.get(list.size() - 1)) < 0) {
+                List<Scored> updated = new ArrayList<>(list);
+                updated.add(new Scored(id, candidate.score()));
+                updated.sort(BY_SCORE);
+                setList(candidate.id(), updated);
+            }
+        }
+    }
+
+    /**
+     * 重新计算一篇文章的前 K 名
+     */
+    private void recompute(Long id) {
+        List<Scored> candidates = candidates(id);
+        candidates.sort(BY_SCORE);
+        setList(id, candidates);
+    }
+
+    /**
+     * 计算与指定文章相似度大于 0 的文章
+     * 候选文章只从同分类、同标签、同标题词的文章中选取
+     */
+    private List<Scored> candidates(Long id) {
+        Features source = features.get(id);
+        Set<Long> candidates = new HashSet<>();
+        if (source.categoryId() != null) {
+            candidates.addAll(byCategory.getOrDefault(source.categoryId(), Collections.emptySet()));
+        }
+        for (Long tagId : source.tagIds()) {
+            candidates.addAll(byTag.getOrDefault(tagId, Collections.emptySet()));
+        }
+        for (String term : source.terms()) {
+            candidates.addAll(byTerm.getOrDefault(term, Collections.emptySet()));
+        }
+        candidates.remove(id);
+
+        return candidates.stream()
+                .map(candidate -> new Scored(candidate, similarity(source, features.get(candidate))))
+                .filter(scored -> scored.score() > 0)
+                .collect(Collectors.toList());
+    }
+
+    private double similarity(Features a, Features b) {
+        double score = TAG_WEIGHT * jaccard(a.tagIds(), b.tagIds());
+        if (a.categoryId() != null && a.categoryId().equals(b.categoryId())) {
+            score += CATEGORY_WEIGHT;
+        }
+        return score + TERM_WEIGHT * jaccard(a.terms(), b.terms());
+    }
+
+    private static <T> double jaccard(Set<T> a, Set<T> b) {
+        if (a.isEmpty() || b.isEmpty()) {
+            return 0;
+        }
+        Set<T> smaller = a.size() <= b.size() ? a : b;
+        Set<T> larger = smaller == a ? b : a;
+        int intersection = 0;
+        for (T item : smaller) {
+            if (larger.contains(item)) {
+                intersection++;
+            }
+        }
+        return (double) intersection / (a.size() + b.size() - intersection);
+    }
+
+    private void setList(Long id, List<Scored> list) {
+        dropList(id);
+        // 超出 K 名的部分丢弃
+        List<Scored> trimmed = list.size() > topK ? new ArrayList<>(list.subList(0, topK)) : list;
+        topLists.put(id, trimmed);
+        for (Scored scored : trimmed) {
+            referencedBy.computeIfAbsent(scored.id(), k -> new HashSet<>()).add(id);
+        }
+        related.put(id, trimmed.stream().map(Scored::id).collect(Collectors.toUnmodifiableList()));
+    }
+
+    private void dropList(Long id) {
+        List<Scored> old = topLists.remove(id);
+        if (old != null) {
+            for (Scored scored : old) {
+                Set<Long> referrers = referencedBy.get(scored.id());
+                if (referrers != null) {
+                    referrers.remove(id);
+                }
+            }
+        }
+        related.remove(id);
+    }
+
+    private Features extract(Article article) {
+        Long categoryId = article.getCategory() != null ? article.getCategory().getId() : null;
+        Set<Long> tagIds = article.getTags() != null
+                ? article.getTags().stream().map(Tag::getId).collect(Collectors.toSet())
+                : Collections.emptySet();
+        Set<String> terms = useTerms ? new HashSet<>(CjkTokenizer.tokenize(article.getTitle())) : Collections.emptySet();
+        return new Features(categoryId, tagIds, terms);
+    }
+
+    private void addFeatures(Long id, Features extracted) {
+        features.put(id, extracted);
+        if (extracted.categoryId() != null) {
+            byCategory.computeIfAbsent(extracted.categoryId(), k -> new HashSet<>()).add(id);
+        }
+        extracted.tagIds().forEach(tagId -> byTag.computeIfAbsent(tagId, k -> new HashSet<>()).add(id));
+        extracted.terms().forEach(term -> byTerm.computeIfAbsent(term, k -> new HashSet<>()).add(id));
+    }
+
+    private void removeFeatures(Long id) {
+        Features old = features.remove(id);
+        if (old.categoryId() != null) {
+            removeFrom(byCategory, old.categoryId(), id);
+        }
+        old.tagIds().forEach(tagId -> removeFrom(byTag, tagId, id));
+        old.terms().forEach(term -> removeFrom(byTerm, term, id));
+    }
+
+    private static <K> void removeFrom(Map<K, Set<Long>> map, K key, Long id) {
+        Set<Long> ids = map.get(key);
+        if (ids != null) {
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                map.remove(key);
+            }
+        }
+    }
+
+    private record Features(Long categoryId, Set<Long> tagIds, Set<String> terms) {
+    }
+
+    private record Scored(Long id, double score) {
+    }
+}
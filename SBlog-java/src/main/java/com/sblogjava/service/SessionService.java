@@ -0,0 +1,184 @@
+package com.sblogjava.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 登录会话服务
+ * 每个用户的有效会话ID保存在 Redis 集合 login:sessions:{userId} 中，各节点在本地缓存一份；
+ * 登录、退出时通过 Redis 发布订阅通知所有节点更新本地缓存，因此校验会话通常不需要访问 Redis。
+ * 本地缓存另有过期时间，即使丢失通知也会在过期后重新加载
+ */
+@Service
+public class SessionService implements MessageListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(SessionService.class);
+
+    public static final String CHANNEL = "session:events";
+
+    private static final String KEY_PREFIX = "login:sessions:";
+
+    // 会话有效期与 Token 一致：7天
+    private static final long SESSION_TTL_DAYS = 7;
+
+    @Autowired
+    private RedisTemplate<String, Object> redisTemplate;
+
+    // 本地缓存的有效期（毫秒）
+    @Value("${session.cache.ttl:300000}")
+    private long cacheTtl;
+
+    // 会话ID不在本地缓存中时，同一用户最多每隔多久重新从 Redis 加载一次（毫秒）
+    @Value("${session.cache.miss-reload-interval:1000}")
+    private long missReloadInterval;
+
+    // 用户ID -> 有效会话，按访问顺序淘汰最久未使用的用户
+    private final Map<Long, CachedSessions> cache;
+
+    // 会话变更次数（持有 cache 锁访问）；从 Redis 加载期间有变更时不写入缓存，避免覆盖更新的状态
+    private long generation;
+
+    public SessionService(@Value("${session.cache.max-users:10000}") int maxUsers) {
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, CachedSessions> eldest) {
+                return size() > maxUsers;
+            }
+        };
+    }
+
+    /**
+     * 登录成功后登记会话
+     */
+    public void register(Long userId, String sessionId) {
+        String key = KEY_PREFIX + userId;
+        redisTemplate.opsForSet().add(key, sessionId);
+        redisTemplate.expire(key, SESSION_TTL_DAYS, TimeUnit.DAYS);
+        apply("add", userId, sessionId);
+        publish("add", userId, sessionId);
+    }
+
+    /**
+     * 注销单个会话（退出登录）
+     */
+    public void revoke(Long userId, String sessionId) {
+        redisTemplate.opsForSet().remove(KEY_PREFIX + userId, sessionId);
+        apply("revoke", userId, sessionId);
+        publish("revoke", userId, sessionId);
+    }
+
+    /**
+     * 注销用户的全部会话（删除用户、修改角色等）
+     */
+    public void revokeAll(Long userId) {
+        redisTemplate.delete(KEY_PREFIX + userId);
+        apply("revokeAll", userId, null);
+        publish("revokeAll", userId, null);
+    }
+
+    /**
+     * 会话是否有效
+     * Redis 不可用时沿用本地缓存（即使已过期），没有缓存时拒绝
+     */
+    public boolean isActive(Long userId, String sessionId) {
+        if (userId == null || sessionId == null) {
+            return false;
+        }
+        long now = System.currentTimeMillis();
+        CachedSessions cached;
+        long loadGeneration;
+        synchronized (cache) {
+            cached = cache.get(userId);
+            loadGeneration = generation;
+        }
+        if (cached != null && now - cached.loadedAt() < cacheTtl) {
+            if (cached.sessionIds().contains(sessionId)) {
+                return true;
+            }
+            // 可能是其他节点的新登录且通知尚未到达，限制重新加载的频率
+            if (now - cached.loadedAt() < missReloadInterval) {
+                return false;
+            }
+        }
+
+        try {
+            Set<Object> members = redisTemplate.opsForSet().members(KEY_PREFIX + userId);
+            Set<String> sessionIds = new HashSet<>();
+            if (members != null) {
+                members.forEach(member -> sessionIds.add(member.toString()));
+            }
+            synchronized (cache) {
+                // 读取 Redis 之后可能已经注销，此时读到的结果不能再写入缓存
+                if (generation == loadGeneration) {
+                    cache.put(userId, new CachedSessions(Collections.unmodifiableSet(sessionIds), now));
+                }
+            }
+            return sessionIds.contains(sessionId);
+        } catch (RuntimeException e) {
+            logger.warn("Redis 不可用，会话校验使用本地缓存: {}", e.getMessage());
+            return cached != null && cached.sessionIds().contains(sessionId);
+        }
+    }
+
+    /**
+     * 接收其他节点发布的会话变更
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        Object body = redisTemplate.getValueSerializer().deserialize(message.getBody());
+        if (body == null) {
+            return;
+        }
+        // 格式：类型:用户ID[:会话ID]
+        String[] parts = body.toString().split(":", 3);
+        try {
+            apply(parts[0], Long.valueOf(parts[1]), parts.length > 2 ? parts[2] : null);
+        } catch (RuntimeException e) {
+            logger.warn("无法识别的会话事件: {}", body);
+        }
+    }
+
+    private void publish(String type, Long userId, String sessionId) {
+        redisTemplate.convertAndSend(CHANNEL, type + ":" + userId + (sessionId != null ? ":" + sessionId : ""));
+    }
+
+    /**
+     * 更新本地缓存；没有缓存该用户时不需要处理，下次校验会从 Redis 加载
+     */
+    private void apply(String type, Long userId, String sessionId) {
+        synchronized (cache) {
+            generation++;
+            if ("revokeAll".equals(type)) {
+                cache.remove(userId);
+                return;
+            }
+            CachedSessions cached = cache.get(userId);
+            if (cached == null) {
+                return;
+            }
+            Set<String> sessionIds = new HashSet<>(cached.sessionIds());
+            if ("add".equals(type)) {
+                sessionIds.add(sessionId);
+            } else if ("revoke".equals(type)) {
+                sessionIds.remove(sessionId);
+            }
+            cache.put(userId, new CachedSessions(Collections.unmodifiableSet(sessionIds), cached.loadedAt()));
+        }
+    }
+
+    private record CachedSessions(Set<String> sessionIds, long loadedAt) {
+    }
+}
@@ -0,0 +1,311 @@
+package com.sblogjava.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sblogjava.Dto.ArticleDto;
+import com.sblogjava.Dto.ArticlePageResult;
+import com.sblogjava.Dto.ArticleSummaryDto;
+import com.sblogjava.common.Result;
+import com.sblogjava.dao.Article;
+import com.sblogjava.dao.ArticleRepository;
+import com.sblogjava.dao.CategoryRepository;
+import com.sblogjava.dao.TagRepository;
+import com.sblogjava.util.TransactionUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.util.HtmlUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 静态快照发布服务
+ * 将已发布文章的详情页、首页及分类/标签列表页预先生成 HTML 和 JSON 文件，
+ * 由 FileUploadConfig 映射到 /snapshots/** 供反向代理直接从磁盘提供。
+ * 文章或评论变更后只标记受影响的页面，由定时任务合并后增量重新生成
+ *
+ * 目录结构：
+ *   index.html / index.json                 首页（最新文章第一页）
+ *   articles/{id}.html / articles/{id}.json 文章详情
+ *   categories/{id}.html / .json            分类文章列表第一页
+ *   tags/{id}.html / .json                  标签文章列表第一页
+ */
+@Service
+public class SnapshotPublisher {
+
+    private static final Logger logger = LoggerFactory.getLogger(SnapshotPublisher.class);
+
+    private static final String HOME = "index";
+
+    @Lazy
+    @Autowired
+    private ArticleService articleService;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Value("${snapshot.enabled:false}")
+    private boolean enabled;
+
+    @Value("${snapshot.path:C:/sblog/snapshots}")
+    private String snapshotPath;
+
+    @Value("${snapshot.url-prefix:/snapshots}")
+    private String urlPrefix;
+
+    @Value("${snapshot.page-size:10}")
+    private int pageSize;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    // 待重新生成的页面（页面路径，不含扩展名），同一页面多次变更只生成一次
+    private final Set<String> dirty = new LinkedHashSet<>();
+
+    /**
+     * 启动后全量生成快照
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        synchronized (dirty) {
+            dirty.add(HOME);
+            for (Long id : articleRepository.findIdsByStatus(Article.ArticleStatus.PUBLISHED)) {
+                dirty.add(articlePage(id));
+            }
+            categoryRepository.findAll().forEach(category -> dirty.add(categoryPage(category.getId())));
+            tagRepository.findAll().forEach(tag -> dirty.add(tagPage(tag.getId())));
+        }
+        int count = publish();
+        logger.info("静态快照生成完成: {} 个页面, 耗时 {} ms", count, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * 文章新增、修改或删除后调用，事务提交后标记受影响的页面
+     * @param categoryId 文章变更前所属的分类（文章移出该分类时需要刷新原分类页）
+     * @param tagIds 文章变更前的标签
+     */
+    public void articleChanged(Long articleId, Long categoryId, Collection<Long> tagIds) {
+        if (!enabled) {
+            return;
+        }
+        List<String> pages = new ArrayList<>();
+        pages.add(articlePage(articleId));
+        pages.add(HOME);
+        if (categoryId != null) {
+            pages.add(categoryPage(categoryId));
+        }
+        if (tagIds != null) {
+            tagIds.forEach(tagId -> pages.add(tagPage(tagId)));
+        }
+        TransactionUtil.afterCommit(() -> markDirty(pages));
+    }
+
+    /**
+     * 评论新增或删除后调用（评论数显示在文章详情和列表中）
+     */
+    public void commentChanged(Long articleId) {
+        articleChanged(articleId, null, null);
+    }
+
+    /**
+     * 定时重新生成已标记的页面
+     */
+    @Scheduled(fixedDelayString = "${snapshot.flush-interval:2000}")
+    public void flush() {
+        if (enabled) {
+            publish();
+        }
+    }
+
+    private void markDirty(Collection<String> pages) {
+        synchronized (dirty) {
+            dirty.addAll(pages);
+        }
+    }
+
+    /**
+     * 生成本轮标记的页面，单个页面失败时重新标记，不影响其余页面
+     */
+    private synchronized int publish() {
+        List<String> pages;
+        synchronized (dirty) {
+            pages = new ArrayList<>(dirty);
+            dirty.clear();
+        }
+
+        // 文章详情页先生成，当前所属的分类/标签页一并加入本轮
+        Set<String> listPages = new LinkedHashSet<>();
+        int count = 0;
+        for (String page : pages) {
+            if (page.startsWith("articles/")) {
+                count += publishArticle(page, listPages);
+            } else {
+                listPages.add(page);
+            }
+        }
+        for (String page : listPages) {
+            count += publishList(page);
+        }
+        return count;
+    }
+
+    private int publishArticle(String page, Set<String> listPages) {
+        Long id = Long.valueOf(page.substring("articles/".length()));
+        try {
+            if (!articleRepository.existsByIdAndStatus(id, Article.ArticleStatus.PUBLISHED)) {
+                // 文章已删除或不再公开，移除快照
+                Files.deleteIfExists(resolve(page + ".html"));
+                Files.deleteIfExists(resolve(page + ".json"));
+                return 0;
+            }
+            ArticleDto article = articleService.getPublishedById(id);
+            if (article.getCategoryId() != null) {
+                listPages.add(categoryPage(article.getCategoryId()));
+            }
+            if (article.getTagIds() != null) {
+                article.getTagIds().forEach(tagId -> listPages.add(tagPage(tagId)));
+            }
+            write(page + ".json", objectMapper.writeValueAsString(Result.success(article)));
+            write(page + ".html", renderArticle(article));
+            return 1;
+        } catch (IOException | RuntimeException e) {
+            // 写文件或读取数据库失败（包括检查后文章被删除）：保留原快照，下一轮重试
+            logger.error("生成文章快照失败: {}", page, e);
+            markDirty(List.of(page));
+            return 0;
+        }
+    }
+
+    private int publishList(String page) {
+        try {
+            String title;
+            ArticlePageResult result;
+            if (HOME.equals(page)) {
+                title = "最新文章";
+                result = articleService.getArticles(1, pageSize, "published", null);
+            } else if (page.startsWith("categories/")) {
+                Long categoryId = Long.valueOf(page.substring("categories/".length()));
+                title = categoryRepository.findById(categoryId).map(c -> c.getName()).orElse(null);
+                result = articleService.getArticlesByCategoryAndTag(1, pageSize, "published", categoryId, null);
+            } else {
+                Long tagId = Long.valueOf(page.substring("tags/".length()));
+                title = tagRepository.findById(tagId).map(t -> t.getName()).orElse(null);
+                result = articleService.getArticlesByCategoryAndTag(1, pageSize, "published", null, tagId);
+            }
+            if (title == null) {
+                // 分类或标签已删除
+                Files.deleteIfExists(resolve(page + ".html"));
+                Files.deleteIfExists(resolve(page + ".json"));
+                return 0;
+            }
+            write(page + ".json", objectMapper.writeValueAsString(Result.success(result)));
+            write(page + ".html", renderList(title, result.getList()));
+            return 1;
+        } catch (IOException | RuntimeException e) {
+            logger.error("生成列表快照失败: {}", page, e);
+            markDirty(List.of(page));
+            return 0;
+        }
+    }
+
+    private String renderArticle(ArticleDto article) {
+        StringBuilder body = new StringBuilder();
+        body.append("<article>\n<h1>").append(escape(article.getTitle())).append("</h1>\n");
+        body.append("<p class=\"meta\">").append(escape(article.getCreatedAt()));
+        if (article.getCategoryName() != null) {
+            body.append(" · <a href=\"").append(urlPrefix).append('/').append(categoryPage(article.getCategoryId()))
+                    .append(".html\">").append(escape(article.getCategoryName())).append("</a>");
+        }
+        body.append("</p>\n");
+        // contentHtml 已由 MarkdownRenderService 转义和清理
+        body.append(article.getContentHtml()).append("</article>\n");
+        return page(article.getTitle(), article.getSummary(), body.toString());
+    }
+
+    private String renderList(String title, List<ArticleSummaryDto> articles) {
+        StringBuilder body = new StringBuilder();
+        body.append("<h1>").append(escape(title)).append("</h1>\n<ul>\n");
+        for (ArticleSummaryDto article : articles) {
+            body.append("<li><a href=\"").append(urlPrefix).append('/').append(articlePage(article.getId()))
+                    .append(".html\">").append(escape(article.getTitle())).append("</a>");
+            if (article.getSummary() != null) {
+                body.append("<p>").append(escape(article.getSummary())).append("</p>");
+            }
+            body.append("</li>\n");
+        }
+        body.append("</ul>\n");
+        return page(title, null, body.toString());
+    }
+
+    private String page(String title, String description, String body) {
+        return "<!DOCTYPE html>\n<html lang=\"zh-CN\">\n<head>\n<meta charset=\"UTF-8\">\n"
+                + "<meta name=\"viewport\" content=\"width=device-width, initial-scale=1.0\">\n"
+                + "<title>" + escape(title) + "</title>\n"
+                + (description != null ? "<meta name=\"description\" content=\"" + escape(description) + "\">\n" : "")
+                + "</head>\n<body>\n" + body + "</body>\n</html>\n";
+    }
+
+    private String escape(String text) {
+        return text != null ? HtmlUtils.htmlEscape(text) : "";
+    }
+
+    /**
+     * 先写临时文件再原子替换，代理读取时不会看到写了一半的文件
+     */
+    private void write(String relativePath, String content) throws IOException {
+        Path target = resolve(relativePath);
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), ".snapshot", ".tmp");
+        try {
+            Files.writeString(temp, content, StandardCharsets.UTF_8);
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private Path resolve(String relativePath) {
+        return Paths.get(snapshotPath).resolve(relativePath);
+    }
+
+    private static String articlePage(Long id) {
+        return "articles/" + id;
+    }
+
+    private static String categoryPage(Long id) {
+        return "categories/" + id;
+    }
+
+    private static String tagPage(Long id) {
+        return "tags/" + id;
+    }
+}
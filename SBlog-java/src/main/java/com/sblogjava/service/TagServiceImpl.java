@@ -69,7 +69,7 @@ public class TagServiceImpl implements TagService {
         TagDto dto = new TagDto();
         dto.setId(tag.getId());
         dto.setName(tag.getName());
-        dto.setArticleCount(tag.getArticles() != null ? tag.getArticles().size() : 0);
+        dto.setArticleCount(tag.getArticleCount());
         dto.setCreatedAt(tag.getCreatedAt() != null ?
                 tag.getCreatedAt().format(formatter) : null);
         return dto;
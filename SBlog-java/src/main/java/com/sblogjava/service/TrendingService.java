@@ -0,0 +1,175 @@
+package com.sblogjava.service;
+
+import com.sblogjava.util.SpaceSaving;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * 热门文章统计服务
+ * 访问按小时分桶记录在环形数组中（保留 7 天），每个桶用 Space-Saving 只跟踪固定数量的文章，
+ * 查询时合并窗口内的桶取前 N 名，结果短时间缓存。
+ * 访问线程只在 LongAdder 中计数（不加锁），由定时任务批量合并到对应小时的桶中
+ */
+@Service
+public class TrendingService {
+
+    private static final long HOUR_MILLIS = 3600_000L;
+
+    // 环形数组大小：7 天 × 24 小时
+    private static final int BUCKET_COUNT = 7 * 24;
+
+    // 缓存的排行长度
+    private static final int MAX_RANKING = 100;
+
+    private final Bucket[] buckets = new Bucket[BUCKET_COUNT];
+
+    @Value("${article.trending.cache-ttl:60000}")
+    private long cacheTtl;
+
+    // 小时 -> 文章ID -> 尚未合并到桶中的访问次数
+    private final Map<Long, Map<Long, LongAdder>> pending = new ConcurrentHashMap<>();
+
+    // 时间窗口 -> 缓存的排行结果
+    private final Map<Window, CachedRanking> cache = new ConcurrentHashMap<>();
+
+    public TrendingService(@Value("${article.trending.capacity:500}") int capacity) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets[i] = new Bucket(capacity);
+        }
+    }
+
+    /**
+     * 记录一次文章访问
+     */
+    public void record(Long articleId) {
+        long hour = System.currentTimeMillis() / HOUR_MILLIS;
+        pending.computeIfAbsent(hour, k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(articleId, k -> new LongAdder())
+                .increment();
+    }
+
+    /**
+     * 把缓冲的访问次数合并到各小时的桶中
+     * 过去小时的缓冲合并后整体移除（只在整点前后与计数并发，可能丢失个别访问，热门统计可以接受）
+     */
+    @Scheduled(fixedDelayString = "${article.trending.fold-interval:1000}")
+    public synchronized void fold() {
+        long currentHour = System.currentTimeMillis() / HOUR_MILLIS;
+        for (Map.Entry<Long, Map<Long, LongAdder>> hourEntry : pending.entrySet()) {
+            long hour = hourEntry.getKey();
+            Map<Long, LongAdder> counts = hourEntry.getValue();
+            // 已经过去的小时不会再有新的访问，合并后整体移除
+            if (hour < currentHour) {
+                pending.remove(hour);
+            }
+            if (hour <= currentHour - BUCKET_COUNT) {
+                continue;
+            }
+            Bucket bucket = buckets[(int) (hour % BUCKET_COUNT)];
+            synchronized (bucket) {
+                // 桶属于更早的周期时先清空再复用
+                if (bucket.hour != hour) {
+                    bucket.summary.clear();
+                    bucket.hour = hour;
+                }
+                for (Map.Entry<Long, LongAdder> entry : counts.entrySet()) {
+                    long count = entry.getValue().sumThenReset();
+                    if (count > 0) {
+                        bucket.summary.offer(entry.getKey(), count);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * 获取时间窗口内访问量最高的文章ID（按访问量从高到低）
+     * 已删除或下线的文章由调用方过滤
+     */
+    public List<Long> getTopArticles(Window window, int limit) {
+        CachedRanking cached = cache.get(window);
+        long now = System.currentTimeMillis();
+        if (cached == null || cached.expiresAt() < now) {
+            cached = new CachedRanking(rank(window, now), now + cacheTtl);
+            cache.put(window, cached);
+        }
+        List<Long> ids = cached.ids();
+        return ids.size() > limit ? ids.subList(0, limit) : ids;
+    }
+
+    private List<Long> rank(Window window, long now) {
+        List<Map.Entry<Long, Long>> entries = new ArrayList<>(countHits(window, now).entrySet());
+        entries.sort((a, b) -> {
+            int cmp = Long.compare(b.getValue(), a.getValue());
+            return cmp != 0 ? cmp : Long.compare(b.getKey(), a.getKey());
+        });
+        return entries.stream()
+                .limit(MAX_RANKING)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toUnmodifiableList());
+    }
+
+    /**
+     * 合并缓冲后统计时间窗口内各文章的访问次数（不经过排行缓存）
+     */
+    Map<Long, Long> countHits(Window window, long now) {
+        fold();
+        long currentHour = now / HOUR_MILLIS;
+        Map<Long, Long> totals = new HashMap<>();
+        for (int i = 0; i < window.hours; i++) {
+            long hour = currentHour - i;
+            Bucket bucket = buckets[(int) (hour % BUCKET_COUNT)];
+            synchronized (bucket) {
+                if (bucket.hour == hour && !bucket.summary.isEmpty()) {
+                    bucket.summary.counts().forEach((id, count) -> totals.merge(id, count, Long::sum));
+                }
+            }
+        }
+        return totals;
+    }
+
+    /**
+     * 统计时间窗口
+     */
+    public enum Window {
+        DAY("24h", 24), WEEK("7d", 7 * 24);
+
+        private final String value;
+        private final int hours;
+
+        Window(String value, int hours) {
+            this.value = value;
+            this.hours = hours;
+        }
+
+        public static Window of(String value) {
+            for (Window window : values()) {
+                if (window.value.equalsIgnoreCase(value)) {
+                    return window;
+                }
+            }
+            throw new RuntimeException("不支持的时间窗口: " + value);
+        }
+    }
+
+    private static class Bucket {
+        final SpaceSaving summary;
+        long hour = -1;
+
+        Bucket(int capacity) {
+            this.summary = new SpaceSaving(capacity);
+        }
+    }
+
+    private record CachedRanking(List<Long> ids, long expiresAt) {
+    }
+}
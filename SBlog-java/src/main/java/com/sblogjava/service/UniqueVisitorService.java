@@ -0,0 +1,190 @@
+package com.sblogjava.service;
+
+import com.sblogjava.util.HyperLogLog;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 独立访客（UV）统计服务
+ * 全站按天、文章按累计各维护一个 HyperLogLog，优先写入 Redis（PFADD / PFCOUNT），
+ * 每个估计器只占几 KB，不保存访客 IP。每次访问的命令合并为一次管道往返。
+ * Redis 不可用时暂时写入进程内的估计器，并在一段时间内不再访问 Redis，避免每次请求都等待超时
+ */
+@Service
+public class UniqueVisitorService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UniqueVisitorService.class);
+
+    private static final String DAY_KEY_PREFIX = "uv:day:";
+    private static final String ARTICLE_KEY_PREFIX = "uv:article:";
+
+    private static final DateTimeFormatter DAY_FORMAT = DateTimeFormatter.BASIC_ISO_DATE;
+
+    @Autowired
+    private RedisTemplate<String, Object> redisTemplate;
+
+    // 按天统计的保留天数
+    @Value("${uv.day-retention-days:30}")
+    private int dayRetentionDays;
+
+    // Redis 失败后多久再重试（毫秒）
+    @Value("${uv.redis-retry-interval:30000}")
+    private long redisRetryInterval;
+
+    // 进程内估计器数量上限（每个 4 KB）
+    @Value("${uv.local.max-sketches:1000}")
+    private int maxLocalSketches;
+
+    // Redis 不可用期间使用的进程内估计器：key -> HyperLogLog
+    private final Map<String, HyperLogLog> localSketches = new ConcurrentHashMap<>();
+
+    private volatile long redisRetryAt;
+
+    // 已设置过期时间的按天 key（本进程内）
+    private volatile String expiringDayKey;
+
+    /**
+     * 记录一次文章详情访问
+     * @param visitor 访客标识（客户端 IP）
+     */
+    public void record(Long articleId, String visitor) {
+        if (visitor == null || visitor.isEmpty()) {
+            return;
+        }
+        String dayKey = dayKey(LocalDate.now());
+        String articleKey = ARTICLE_KEY_PREFIX + articleId;
+        if (redisAvailable()) {
+            // 当天的 key 只需设置一次过期时间
+            boolean setExpiry = !dayKey.equals(expiringDayKey);
+            try {
+                // 同一次往返发送所有命令
+                redisTemplate.executePipelined(new SessionCallback<Object>() {
+                    @Override
+                    @SuppressWarnings("unchecked")
+                    public <K, V> Object execute(RedisOperations<K, V> operations) {
+                        RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                        ops.opsForHyperLogLog().add(dayKey, visitor);
+                        if (setExpiry) {
+                            ops.expire(dayKey, dayRetentionDays, TimeUnit.DAYS);
+                        }
+                        ops.opsForHyperLogLog().add(articleKey, visitor);
+                        return null;
+                    }
+                });
+                if (setExpiry) {
+                    expiringDayKey = dayKey;
+                }
+                return;
+            } catch (RuntimeException e) {
+                redisFailed(e);
+            }
+        }
+        addLocal(dayKey, visitor);
+        addLocal(articleKey, visitor);
+    }
+
+    /**
+     * 某一天的全站独立访客数
+     */
+    public long getDailyUniqueVisitors(LocalDate date) {
+        return count(List.of(dayKey(date)));
+    }
+
+    /**
+     * 最近 days 天（含今天）的全站独立访客数（多天去重）
+     */
+    public long getUniqueVisitors(int days) {
+        LocalDate today = LocalDate.now();
+        List<String> keys = new ArrayList<>(days);
+        for (int i = 0; i < days; i++) {
+            keys.add(dayKey(today.minusDays(i)));
+        }
+        return count(keys);
+    }
+
+    /**
+     * 文章的累计独立访客数
+     */
+    public long getArticleUniqueVisitors(Long articleId) {
+        return count(List.of(ARTICLE_KEY_PREFIX + articleId));
+    }
+
+    /**
+     * 清理超过保留天数的进程内按天估计器（Redis 中的由过期时间清理）
+     */
+    @Scheduled(cron = "0 5 0 * * *")
+    public void evictExpired() {
+        String oldest = dayKey(LocalDate.now().minusDays(dayRetentionDays));
+        localSketches.keySet().removeIf(key -> key.startsWith(DAY_KEY_PREFIX) && key.compareTo(oldest) < 0);
+    }
+
+    /**
+     * 估计多个 key 并集的基数
+     * Redis 与进程内的估计器无法合并，两边都有数据时取较大值（Redis 故障期间的数据按下限计算）
+     */
+    private long count(List<String> keys) {
+        long redisCount = 0;
+        if (redisAvailable()) {
+            try {
+                Long size = redisTemplate.opsForHyperLogLog().size(keys.toArray(new String[0]));
+                redisCount = size != null ? size : 0;
+            } catch (RuntimeException e) {
+                redisFailed(e);
+            }
+        }
+        HyperLogLog union = null;
+        for (String key : keys) {
+            HyperLogLog sketch = localSketches.get(key);
+            if (sketch != null) {
+                if (union == null) {
+                    union = new HyperLogLog();
+                }
+                synchronized (sketch) {
+                    union.merge(sketch);
+                }
+            }
+        }
+        return union != null ? Math.max(redisCount, union.cardinality()) : redisCount;
+    }
+
+    private void addLocal(String key, String visitor) {
+        HyperLogLog sketch = localSketches.get(key);
+        if (sketch == null) {
+            if (localSketches.size() >= maxLocalSketches) {
+                return;
+            }
+            sketch = localSketches.computeIfAbsent(key, k -> new HyperLogLog());
+        }
+        synchronized (sketch) {
+            sketch.add(visitor);
+        }
+    }
+
+    private boolean redisAvailable() {
+        return System.currentTimeMillis() >= redisRetryAt;
+    }
+
+    private void redisFailed(RuntimeException e) {
+        redisRetryAt = System.currentTimeMillis() + redisRetryInterval;
+        logger.warn("Redis 不可用，独立访客改为进程内统计: {}", e.getMessage());
+    }
+
+    private static String dayKey(LocalDate date) {
+        return DAY_KEY_PREFIX + date.format(DAY_FORMAT);
+    }
+}
@@ -19,5 +19,5 @@ public interface UserService {
 
     boolean existsByUsername(String username);
 
-    void logout(String token);
+    void logout(Long userId, String sessionId);
 }
@@ -9,12 +9,10 @@ import com.sblogjava.dao.User;
 import com.sblogjava.dao.UserRepository;
 import com.sblogjava.util.JwtUtil;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.util.Optional;
-import java.util.concurrent.TimeUnit;
+import java.util.UUID;
 
 @Service
 public class UserServiceImpl implements UserService {
@@ -25,9 +23,10 @@ public class UserServiceImpl implements UserService {
     private JwtUtil jwtUtil;
 
     @Autowired
-    private RedisService redisService;
+    private SessionService sessionService;
 
-    private final PasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+    @Autowired
+    private PasswordHashService passwordHashService;
 
     @Override
     public Optional<UserDto> findByUsername(String username) {
@@ -55,7 +54,7 @@ public class UserServiceImpl implements UserService {
         // 创建新用户，默认状态为禁用
         User user = new User();
         user.setUsername(registerRequest.getUsername());
-        user.setPassword(passwordEncoder.encode(registerRequest.getPassword()));
+        user.setPassword(passwordHashService.encode(registerRequest.getPassword()));
         user.setRole(User.UserRole.USER);
         user.setStatus(User.UserStatus.DISABLED);  // 设置为禁用状态
 
@@ -79,16 +78,16 @@ public class UserServiceImpl implements UserService {
         }
 
         // 验证密码
-        if (!passwordEncoder.matches(loginRequest.getPassword(), user.getPassword())) {
+        if (!passwordHashService.matches(loginRequest.getPassword(), user.getPassword())) {
             throw new RuntimeException("用户名或密码错误");
         }
 
-        // 生成 Token
-        String token = jwtUtil.generateToken(user.getId(), user.getUsername(), user.getRole().name());
+        // 生成 Token，每次登录对应一个新会话
+        String sessionId = UUID.randomUUID().toString();
+        String token = jwtUtil.generateToken(user.getId(), user.getUsername(), user.getRole().name(), sessionId);
 
-        // 存入 Redis（7天过期）
-        String redisKey = "login:token:" + user.getId();
-        redisService.set(redisKey, token, 7, TimeUnit.DAYS);
+        // 登记会话（7天过期）
+        sessionService.register(user.getId(), sessionId);
 
         // 转换为 UserDto
         UserDto userDto = UserConvert.convert(Optional.of(user));
@@ -97,13 +96,10 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
-    public void logout(String token) {
-        // 从 token 中获取用户 ID
-        Long userId = jwtUtil.getUserIdFromToken(token);
-        if (userId != null) {
-            // 删除 Redis 中的 token
-            String redisKey = "login:token:" + userId;
-            redisService.delete(redisKey);
+    public void logout(Long userId, String sessionId) {
+        if (userId != null && sessionId != null) {
+            // 注销会话，所有节点上该 token 随即失效
+            sessionService.revoke(userId, sessionId);
         }
     }
 
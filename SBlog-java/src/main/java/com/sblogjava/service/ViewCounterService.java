@@ -0,0 +1,135 @@
+package com.sblogjava.service;
+
+import com.sblogjava.dao.ArticleRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 文章浏览量计数服务
+ * 浏览量先在内存中累加，由定时任务批量回写到 articles.views，
+ * 避免每次访问都对文章行做一次“查询-加一-保存”
+ */
+@Service
+public class ViewCounterService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ViewCounterService.class);
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private DailyStatsService dailyStatsService;
+
+    @Autowired
+    private DashboardStreamService dashboardStreamService;
+
+    // 尚未回写的浏览量增量（LongAdder 内部分段计数，高并发下不会争用同一个变量）
+    private final Map<Long, LongAdder> pending = new ConcurrentHashMap<>();
+
+    // 正在回写中的增量，回写完成前读取时仍需计入
+    private final Map<Long, Long> flushing = new ConcurrentHashMap<>();
+
+    /**
+     * 记录一次访问
+     */
+    public void increment(Long articleId) {
+        pending.computeIfAbsent(articleId, k -> new LongAdder()).increment();
+        dashboardStreamService.viewed();
+    }
+
+    /**
+     * 获取尚未写入数据库的浏览量
+     */
+    public long getPending(Long articleId) {
+        LongAdder adder = pending.get(articleId);
+        long count = adder != null ? adder.sum() : 0;
+        return count + flushing.getOrDefault(articleId, 0L);
+    }
+
+    /**
+     * 获取所有文章尚未写入数据库的浏览量总和
+     */
+    public long getPendingTotal() {
+        long total = 0;
+        for (LongAdder adder : pending.values()) {
+            total += adder.sum();
+        }
+        for (Long count : flushing.values()) {
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * 丢弃文章未回写的浏览量（手动设置浏览量或删除文章时使用）
+     * 与 flush 互斥：正在进行的回写先完成，其增量不会在手动设置的浏览量之后再累加上去
+     */
+    public synchronized void discard(Long articleId) {
+        pending.remove(articleId);
+    }
+
+    /**
+     * 定时回写浏览量
+     * 增量相同的文章合并为一条 UPDATE articles SET views = views + ? WHERE id IN (...)
+     */
+    @Scheduled(fixedDelayString = "${article.views.flush-interval:5000}")
+    public synchronized void flush() {
+        Map<Long, Long> deltas = new HashMap<>();
+        for (Map.Entry<Long, LongAdder> entry : pending.entrySet()) {
+            long delta = entry.getValue().sum();
+            if (delta > 0) {
+                // 先计入 flushing 再从 pending 扣除，读取时增量始终至少在其中一个 Map 中；
+                // 扣除而不是清零，期间新增的访问留在 pending 中
+                flushing.put(entry.getKey(), delta);
+                entry.getValue().add(-delta);
+                deltas.put(entry.getKey(), delta);
+            }
+        }
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        Map<Long, List<Long>> idsByDelta = new HashMap<>();
+        deltas.forEach((id, delta) -> idsByDelta.computeIfAbsent(delta, k -> new ArrayList<>()).add(id));
+
+        for (Map.Entry<Long, List<Long>> group : idsByDelta.entrySet()) {
+            try {
+                articleRepository.addViews(group.getKey().intValue(), group.getValue());
+            } catch (RuntimeException e) {
+                // 回写失败时把增量放回，等待下一次回写
+                logger.error("浏览量回写失败，将在下次重试: {} 篇文章", group.getValue().size(), e);
+                for (Long id : group.getValue()) {
+                    pending.computeIfAbsent(id, k -> new LongAdder()).add(group.getKey());
+                }
+                continue;
+            } finally {
+                group.getValue().forEach(flushing::remove);
+            }
+            try {
+                dailyStatsService.addViews(group.getKey(), group.getValue());
+            } catch (RuntimeException e) {
+                // 每日统计只影响仪表盘，失败不重试，避免文章浏览量重复累加
+                logger.error("每日浏览量统计失败: {} 篇文章", group.getValue().size(), e);
+            }
+        }
+    }
+
+    /**
+     * 应用关闭前回写剩余的浏览量
+     */
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+}
@@ -0,0 +1,206 @@
+package com.sblogjava.service;
+
+import com.sblogjava.util.IpUtil;
+import com.sblogjava.util.MpscRingBuffer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 访问日志服务
+ * 请求线程只把访问事件放入内存环形队列（不访问数据库），由定时任务批量写入 visit_logs
+ * 并累加每日统计的访问次数；
+ * 队列满时丢弃事件并计入 visit_log.dropped 指标
+ */
+@Service
+public class VisitLogService {
+
+    private static final Logger logger = LoggerFactory.getLogger(VisitLogService.class);
+
+    private static final String INSERT_SQL =
+            "INSERT INTO visit_logs (path, article_id, ip_hash, ua_class, visited_at) VALUES (?, ?, ?, ?, ?)";
+
+    private static final int MAX_PATH_LENGTH = 255;
+
+    // 前台文章详情页路由：/article/{id}
+    private static final Pattern ARTICLE_PATH = Pattern.compile("^/article/(\\d+)");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private DailyStatsService dailyStatsService;
+
+    @Value("${visit-log.buffer-size:8192}")
+    private int bufferSize;
+
+    @Value("${visit-log.batch-size:500}")
+    private int batchSize;
+
+    @Value("${visit-log.ip-salt:sblog}")
+    private String ipSalt;
+
+    private MpscRingBuffer<VisitEvent> buffer;
+
+    private Counter droppedCounter;
+
+    private Counter writtenCounter;
+
+    @PostConstruct
+    public void init() {
+        buffer = new MpscRingBuffer<>(bufferSize);
+        droppedCounter = meterRegistry.counter("visit_log.dropped");
+        writtenCounter = meterRegistry.counter("visit_log.written");
+        Gauge.builder("visit_log.buffer.size", buffer, MpscRingBuffer::size).register(meterRegistry);
+    }
+
+    /**
+     * 记录一次页面访问（只入队，不阻塞）
+     * @param path 访问的前台路由
+     */
+    public void record(String path, HttpServletRequest request) {
+        if (path == null || path.isEmpty()) {
+            return;
+        }
+        VisitEvent event = new VisitEvent(
+                path.length() > MAX_PATH_LENGTH ? path.substring(0, MAX_PATH_LENGTH) : path,
+                parseArticleId(path),
+                hashIp(IpUtil.getClientIp(request)),
+                classify(request.getHeader("User-Agent")),
+                System.currentTimeMillis());
+        if (!buffer.offer(event)) {
+            droppedCounter.increment();
+        }
+    }
+
+    /**
+     * 定时批量写入队列中的访问事件
+     */
+    @Scheduled(fixedDelayString = "${visit-log.flush-interval:1000}")
+    public synchronized void flush() {
+        List<VisitEvent> batch = new ArrayList<>(batchSize);
+        while (buffer.drainTo(batch, batchSize) > 0) {
+            try {
+                jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, event) -> {
+                    ps.setString(1, event.path());
+                    if (event.articleId() != null) {
+                        ps.setLong(2, event.articleId());
+                    } else {
+                        ps.setNull(2, Types.BIGINT);
+                    }
+                    ps.setString(3, event.ipHash());
+                    ps.setString(4, event.uaClass());
+                    ps.setTimestamp(5, new Timestamp(event.timestamp()));
+                });
+                writtenCounter.increment(batch.size());
+                recordDailyVisits(batch);
+            } catch (RuntimeException e) {
+                // 访问日志允许丢失，写入失败不重试，避免积压影响后续批次
+                logger.error("访问日志写入失败，丢弃 {} 条", batch.size(), e);
+                droppedCounter.increment(batch.size());
+            }
+            batch.clear();
+        }
+    }
+
+    /**
+     * 按访问日期累加每日统计的访问次数，统计失败不影响已写入的日志（可通过回填修正）
+     */
+    private void recordDailyVisits(List<VisitEvent> batch) {
+        Map<LocalDate, Long> visits = new HashMap<>();
+        for (VisitEvent event : batch) {
+            LocalDate date = Instant.ofEpochMilli(event.timestamp()).atZone(ZoneId.systemDefault()).toLocalDate();
+            visits.merge(date, 1L, Long::sum);
+        }
+        try {
+            dailyStatsService.addVisits(visits);
+        } catch (RuntimeException e) {
+            logger.error("每日访问次数统计失败", e);
+        }
+    }
+
+    /**
+     * 应用关闭前写入剩余的访问事件
+     */
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private Long parseArticleId(String path) {
+        Matcher matcher = ARTICLE_PATH.matcher(path);
+        if (matcher.find()) {
+            try {
+                return Long.valueOf(matcher.group(1));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private String hashIp(String ip) {
+        if (ip == null) {
+            return null;
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest((ipSalt + ip).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String classify(String userAgent) {
+        if (userAgent == null || userAgent.isEmpty()) {
+            return "other";
+        }
+        String ua = userAgent.toLowerCase();
+        if (ua.contains("bot") || ua.contains("spider") || ua.contains("crawler") || ua.contains("curl")) {
+            return "bot";
+        }
+        if (ua.contains("mobile") || ua.contains("android") || ua.contains("iphone") || ua.contains("ipad")) {
+            return "mobile";
+        }
+        if (ua.contains("mozilla")) {
+            return "desktop";
+        }
+        return "other";
+    }
+
+    /**
+     * 访问事件
+     */
+    private record VisitEvent(String path, Long articleId, String ipHash, String uaClass, long timestamp) {
+    }
+}
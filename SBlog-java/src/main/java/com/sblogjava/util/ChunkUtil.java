@@ -0,0 +1,24 @@
+package com.sblogjava.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 分批工具类
+ */
+public final class ChunkUtil {
+
+    private ChunkUtil() {
+    }
+
+    /**
+     * 按固定大小拆分列表（返回原列表的视图）
+     */
+    public static <T> List<List<T>> partition(List<T> list, int size) {
+        List<List<T>> chunks = new ArrayList<>((list.size() + size - 1) / size);
+        for (int i = 0; i < list.size(); i += size) {
+            chunks.add(list.subList(i, Math.min(i + size, list.size())));
+        }
+        return chunks;
+    }
+}
@@ -0,0 +1,86 @@
+package com.sblogjava.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 中英文混合分词器
+ * 英文、数字按连续字母数字切分并转小写；中日韩文字按二元组（bigram）切分，
+ * 不依赖词典即可支持中文检索
+ */
+public final class CjkTokenizer {
+
+    private CjkTokenizer() {
+    }
+
+    /**
+     * 分词（用于查询）
+     * 单独出现的一个汉字保留为单字词
+     */
+    public static List<String> tokenize(String text) {
+        return tokenize(text, false);
+    }
+
+    /**
+     * 分词
+     * @param withUnigrams 是否额外输出每个汉字的单字词（建索引时使用，以支持单字查询）
+     */
+    public static List<String> tokenize(String text, boolean withUnigrams) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+
+        StringBuilder word = new StringBuilder();
+        List<Integer> cjkRun = new ArrayList<>();
+        int i = 0;
+        while (i < text.length()) {
+            int cp = text.codePointAt(i);
+            if (isCjk(cp)) {
+                flushWord(word, tokens);
+                cjkRun.add(cp);
+            } else {
+                flushCjk(cjkRun, tokens, withUnigrams);
+                if (Character.isLetterOrDigit(cp)) {
+                    word.appendCodePoint(Character.toLowerCase(cp));
+                } else {
+                    flushWord(word, tokens);
+                }
+            }
+            i += Character.charCount(cp);
+        }
+        flushWord(word, tokens);
+        flushCjk(cjkRun, tokens, withUnigrams);
+        return tokens;
+    }
+
+    private static void flushWord(StringBuilder word, List<String> tokens) {
+        if (word.length() > 0) {
+            tokens.add(word.toString());
+            word.setLength(0);
+        }
+    }
+
+    private static void flushCjk(List<Integer> run, List<String> tokens, boolean withUnigrams) {
+        if (run.isEmpty()) {
+            return;
+        }
+        if (run.size() == 1 || withUnigrams) {
+            for (int cp : run) {
+                tokens.add(new String(Character.toChars(cp)));
+            }
+        }
+        for (int j = 0; j + 1 < run.size(); j++) {
+            tokens.add(new StringBuilder().appendCodePoint(run.get(j)).appendCodePoint(run.get(j + 1)).toString());
+        }
+        run.clear();
+    }
+
+    private static boolean isCjk(int cp) {
+        Character.UnicodeScript script = Character.UnicodeScript.of(cp);
+        return script == Character.UnicodeScript.HAN
+                || script == Character.UnicodeScript.HIRAGANA
+                || script == Character.UnicodeScript.KATAKANA
+                || script == Character.UnicodeScript.HANGUL;
+    }
+}
@@ -0,0 +1,69 @@
+package com.sblogjava.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * 游标分页工具类
+ * 把排序键（时间或字符串 + ID）编码为不透明的字符串，前端原样回传即可
+ */
+public final class CursorUtil {
+
+    private CursorUtil() {
+    }
+
+    /**
+     * 生成游标
+     */
+    public static String encode(LocalDateTime time, Long id) {
+        String raw = time + "," + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解析游标
+     */
+    public static Position decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int index = raw.lastIndexOf(',');
+            return new Position(LocalDateTime.parse(raw.substring(0, index)), Long.parseLong(raw.substring(index + 1)));
+        } catch (RuntimeException e) {
+            throw new RuntimeException("无效的分页游标");
+        }
+    }
+
+    /**
+     * 生成以字符串为排序键的游标
+     */
+    public static String encode(String key, Long id) {
+        String raw = key + "," + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解析以字符串为排序键的游标（排序键本身可能含逗号，以最后一个逗号分隔）
+     */
+    public static KeyPosition decodeKey(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int index = raw.lastIndexOf(',');
+            return new KeyPosition(raw.substring(0, index), Long.parseLong(raw.substring(index + 1)));
+        } catch (RuntimeException e) {
+            throw new RuntimeException("无效的分页游标");
+        }
+    }
+
+    /**
+     * 游标位置：上一页最后一条记录的排序键
+     */
+    public record Position(LocalDateTime time, Long id) {
+    }
+
+    /**
+     * 游标位置：上一页最后一条记录的字符串排序键
+     */
+    public record KeyPosition(String key, Long id) {
+    }
+}
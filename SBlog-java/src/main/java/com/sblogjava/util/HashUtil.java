@@ -0,0 +1,30 @@
+package com.sblogjava.util;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 哈希工具类
+ */
+public final class HashUtil {
+
+    private HashUtil() {
+    }
+
+    /**
+     * 64 位哈希：FNV-1a 后再做一次 MurmurHash3 的 fmix64 混淆，使各位分布均匀
+     * 用于 HyperLogLog、布隆过滤器等概率数据结构，不能用于安全场景
+     */
+    public static long hash64(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,59 @@
+package com.sblogjava.util;
+
+/**
+ * HyperLogLog 基数估计
+ * 使用 2^12 个 6 位寄存器（每个占一个字节，共 4 KB），标准误差约 1.6%，
+ * 内存不随元素数量增长。非线程安全，由调用方加锁
+ */
+public class HyperLogLog {
+
+    private static final int P = 12;
+    private static final int M = 1 << P;
+    private static final double ALPHA = 0.7213 / (1 + 1.079 / M);
+
+    private final byte[] registers = new byte[M];
+
+    /**
+     * 添加元素
+     */
+    public void add(String value) {
+        long hash = HashUtil.hash64(value);
+        int index = (int) (hash >>> (64 - P));
+        // 剩余位中第一个 1 的位置（从 1 开始），剩余位全为 0 时取最大值
+        int rank = Long.numberOfLeadingZeros((hash << P) | (1L << (P - 1))) + 1;
+        if (rank > registers[index]) {
+            registers[index] = (byte) rank;
+        }
+    }
+
+    /**
+     * 合并另一个估计器（结果为两个集合并集的估计）
+     */
+    public void merge(HyperLogLog other) {
+        for (int i = 0; i < M; i++) {
+            if (other.registers[i] > registers[i]) {
+                registers[i] = other.registers[i];
+            }
+        }
+    }
+
+    /**
+     * 估计不重复元素的数量
+     */
+    public long cardinality() {
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+        double estimate = ALPHA * M * M / sum;
+        // 小基数时使用线性计数修正
+        if (estimate <= 2.5 * M && zeros > 0) {
+            estimate = M * Math.log((double) M / zeros);
+        }
+        return Math.round(estimate);
+    }
+}
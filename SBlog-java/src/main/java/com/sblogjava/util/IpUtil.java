@@ -0,0 +1,21 @@
+package com.sblogjava.util;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * IP 工具类
+ */
+public final class IpUtil {
+
+    private IpUtil() {
+    }
+
+    /**
+     * 获取客户端真实IP
+     * 不直接读取 X-Forwarded-For（客户端可以任意伪造）：只有来自可信代理
+     * （server.tomcat.remoteip.internal-proxies）的请求，Tomcat 才会按该请求头改写 remoteAddr
+     */
+    public static String getClientIp(HttpServletRequest request) {
+        return request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,140 @@
+package com.sblogjava.util;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.Key;
+import java.security.KeyStore;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * JWT 签名密钥环
+ * 密钥来自配置（jwt.keys）或密钥库文件（jwt.keystore.path），按 kid 区分：
+ * 当前密钥（jwt.active-kid）用于签发新 Token，其余密钥只用于验证，
+ * 因此轮换时先加入新密钥并切换 active-kid，旧密钥在其签发的 Token 全部过期后再移除。
+ * 所有节点使用同一份配置，重启或跨节点都能验证彼此签发的 Token
+ */
+@Component
+public class JwtKeyRing {
+
+    private static final Logger logger = LoggerFactory.getLogger(JwtKeyRing.class);
+
+    private static final String GENERATED_KID = "local";
+
+    // kid -> 密钥，启动时构建，之后只读
+    private final Map<String, SecretKey> keys;
+
+    private final String activeKid;
+
+    public JwtKeyRing(@Value("${jwt.keys:}") String configuredKeys,
+                      @Value("${jwt.keystore.path:}") String keystorePath,
+                      @Value("${jwt.keystore.password:}") String keystorePassword,
+                      @Value("${jwt.keystore.type:PKCS12}") String keystoreType,
+                      @Value("${jwt.active-kid:}") String activeKid) {
+        Map<String, SecretKey> loaded = new LinkedHashMap<>();
+        if (!keystorePath.isEmpty()) {
+            loadKeystore(loaded, keystorePath, keystorePassword, keystoreType);
+        }
+        parseConfiguredKeys(loaded, configuredKeys);
+
+        if (loaded.isEmpty()) {
+            // 未配置密钥：生成临时密钥，仅适合单节点开发环境，重启后已签发的 Token 全部失效
+            logger.warn("未配置 jwt.keys 或 jwt.keystore.path，使用临时生成的签名密钥");
+            loaded.put(GENERATED_KID, Keys.secretKeyFor(SignatureAlgorithm.HS256));
+            activeKid = GENERATED_KID;
+        } else if (activeKid.isEmpty()) {
+            // 未指定时使用最后配置的密钥
+            activeKid = loaded.keySet().stream().reduce((first, second) -> second).get();
+        } else if (!loaded.containsKey(activeKid)) {
+            throw new IllegalStateException("jwt.active-kid 对应的密钥不存在: " + activeKid);
+        }
+
+        this.keys = Collections.unmodifiableMap(loaded);
+        this.activeKid = activeKid;
+        logger.info("已加载 JWT 签名密钥: {}，当前签发密钥: {}", keys.keySet(), activeKid);
+    }
+
+    /**
+     * 当前用于签发 Token 的密钥ID
+     */
+    public String getActiveKid() {
+        return activeKid;
+    }
+
+    /**
+     * 当前用于签发 Token 的密钥
+     */
+    public SecretKey getActiveKey() {
+        return keys.get(activeKid);
+    }
+
+    /**
+     * 按 kid 查找验证密钥，不存在时返回 null
+     */
+    public SecretKey getKey(String kid) {
+        return kid != null ? keys.get(kid) : null;
+    }
+
+    /**
+     * 解析配置的密钥，格式：kid1:Base64密钥,kid2:Base64密钥
+     */
+    private static void parseConfiguredKeys(Map<String, SecretKey> keys, String configuredKeys) {
+        for (String entry : configuredKeys.split(",")) {
+            entry = entry.trim();
+            if (entry.isEmpty()) {
+                continue;
+            }
+            int separator = entry.indexOf(':');
+            if (separator <= 0 || separator == entry.length() - 1) {
+                throw new IllegalStateException("jwt.keys 格式错误，应为 kid:Base64密钥");
+            }
+            String kid = entry.substring(0, separator).trim();
+            byte[] secret = Base64.getDecoder().decode(entry.substring(separator + 1).trim());
+            keys.put(kid, toHmacKey(kid, secret));
+        }
+    }
+
+    /**
+     * 读取密钥库中的全部对称密钥，别名作为 kid
+     */
+    private static void loadKeystore(Map<String, SecretKey> keys, String path, String password, String type) {
+        char[] passwordChars = password.toCharArray();
+        try (InputStream in = Files.newInputStream(Path.of(path))) {
+            KeyStore keyStore = KeyStore.getInstance(type);
+            keyStore.load(in, passwordChars);
+            Enumeration<String> aliases = keyStore.aliases();
+            while (aliases.hasMoreElements()) {
+                String alias = aliases.nextElement();
+                if (!keyStore.isKeyEntry(alias)) {
+                    continue;
+                }
+                Key key = keyStore.getKey(alias, passwordChars);
+                if (key instanceof SecretKey) {
+                    keys.put(alias, toHmacKey(alias, key.getEncoded()));
+                }
+            }
+        } catch (Exception e) {
+            throw new IllegalStateException("无法读取 JWT 密钥库: " + path, e);
+        }
+    }
+
+    private static SecretKey toHmacKey(String kid, byte[] secret) {
+        // HS256 要求密钥至少 256 位
+        if (secret.length < 32) {
+            throw new IllegalStateException("JWT 密钥长度不足 256 位: " + kid);
+        }
+        return Keys.hmacShaKeyFor(secret);
+    }
+}
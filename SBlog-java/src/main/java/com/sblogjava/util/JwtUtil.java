@@ -1,48 +1,89 @@
 package com.sblogjava.util;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.security.SignatureException;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
  * JWT 工具类
  * 用于生成和解析 JWT Token
+ * 解析器只构建一次；验证通过的 Token 按摘要缓存其 Claims（到期自动失效），
+ * 同一 Token 的后续请求不再重复验证签名。
+ * 签名密钥由 JwtKeyRing 提供，Token 头部的 kid 标明签名所用的密钥
  */
 @Component
 public class JwtUtil {
 
-    // 密钥（实际项目中应该从配置文件读取）
-    private static final SecretKey SECRET_KEY = Keys.secretKeyFor(SignatureAlgorithm.HS256);
-
     // Token 过期时间：7天
     private static final long EXPIRATION_TIME = 7 * 24 * 60 * 60 * 1000;
 
+    private final JwtKeyRing keyRing;
+
+    // 解析器不可变且线程安全，可以复用；按 kid 从密钥环中选择验证密钥
+    private final JwtParser parser;
+
+    // Token 摘要 -> 已验证的 Claims，按访问顺序淘汰最久未使用的 Token
+    private final Map<String, VerifiedToken> verifiedCache;
+
+    public JwtUtil(JwtKeyRing keyRing, @Value("${jwt.cache.max-entries:10000}") int maxEntries) {
+        this.keyRing = keyRing;
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        Key key = keyRing.getKey(header.getKeyId());
+                        if (key == null) {
+                            throw new SignatureException("未知的签名密钥: " + header.getKeyId());
+                        }
+                        return key;
+                    }
+                })
+                .build();
+        this.verifiedCache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, VerifiedToken> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
     /**
      * 生成 Token
      * @param userId 用户ID
      * @param username 用户名
      * @param role 角色
+     * @param sessionId 会话ID（写入 jti，用于服务端注销）
      * @return Token 字符串
      */
-    public String generateToken(Long userId, String username, String role) {
+    public String generateToken(Long userId, String username, String role, String sessionId) {
         Map<String, Object> claims = new HashMap<>();
         claims.put("userId", userId);
         claims.put("username", username);
         claims.put("role", role);
 
         return Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, keyRing.getActiveKid())
                 .setClaims(claims)
                 .setSubject(username)
+                .setId(sessionId)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION_TIME))
-                .signWith(SECRET_KEY)
+                .signWith(keyRing.getActiveKey())
                 .compact();
     }
 
@@ -74,27 +115,44 @@ public class JwtUtil {
      * 验证 Token 是否有效
      */
     public boolean validateToken(String token) {
-        try {
-            Claims claims = parseToken(token);
-            return claims != null && !isTokenExpired(claims);
-        } catch (Exception e) {
-            return false;
-        }
+        return parseToken(token) != null;
     }
 
     /**
-     * 解析 Token
+     * 解析并验证 Token，无效或已过期时返回 null
+     * 验证通过的结果缓存到 Token 过期为止
      */
-    private Claims parseToken(String token) {
+    public Claims parseToken(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+        String key = digest(token);
+        long now = System.currentTimeMillis();
+        synchronized (verifiedCache) {
+            VerifiedToken cached = verifiedCache.get(key);
+            if (cached != null) {
+                if (cached.expiresAt() > now) {
+                    return cached.claims();
+                }
+                verifiedCache.remove(key);
+                return null;
+            }
+        }
+
+        // 验证签名在锁外进行
+        Claims claims;
         try {
-            return Jwts.parserBuilder()
-                    .setSigningKey(SECRET_KEY)
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
+            claims = parser.parseClaimsJws(token).getBody();
         } catch (Exception e) {
             return null;
         }
+        if (claims.getExpiration() == null || isTokenExpired(claims)) {
+            return null;
+        }
+        synchronized (verifiedCache) {
+            verifiedCache.put(key, new VerifiedToken(claims, claims.getExpiration().getTime()));
+        }
+        return claims;
     }
 
     /**
@@ -104,4 +162,19 @@ public class JwtUtil {
         Date expiration = claims.getExpiration();
         return expiration.before(new Date());
     }
+
+    /**
+     * 缓存键使用 Token 的 SHA-256 摘要，不在内存中保存原始 Token
+     */
+    private static String digest(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record VerifiedToken(Claims claims, long expiresAt) {
+    }
 }
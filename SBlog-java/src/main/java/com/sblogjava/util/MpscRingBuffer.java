@@ -0,0 +1,82 @@
+package com.sblogjava.util;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 有界无锁环形队列（多生产者、单消费者）
+ * 生产者通过 CAS 抢占写入位置，队列满时 offer 直接返回 false，不阻塞调用线程；
+ * 只允许一个线程调用 drainTo
+ */
+public class MpscRingBuffer<E> {
+
+    private final AtomicReferenceArray<E> buffer;
+    private final int capacity;
+    private final int mask;
+
+    // 下一个写入位置（生产者共享）
+    private final AtomicLong tail = new AtomicLong();
+
+    // 下一个读取位置（只由消费者写入）
+    private volatile long head = 0;
+
+    /**
+     * @param capacity 容量，向上取整为 2 的幂
+     */
+    public MpscRingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.buffer = new AtomicReferenceArray<>(size);
+        this.capacity = size;
+        this.mask = size - 1;
+    }
+
+    /**
+     * 放入元素，队列已满时返回 false
+     */
+    public boolean offer(E element) {
+        long position;
+        do {
+            position = tail.get();
+            if (position - head >= capacity) {
+                return false;
+            }
+        } while (!tail.compareAndSet(position, position + 1));
+        buffer.set((int) (position & mask), element);
+        return true;
+    }
+
+    /**
+     * 取出最多 max 个元素放入 target，返回取出的数量
+     * 遇到已抢占位置但尚未写入的槽位时提前结束，剩余元素留到下一次
+     */
+    public int drainTo(List<E> target, int max) {
+        long position = head;
+        int count = 0;
+        while (count < max) {
+            int index = (int) (position & mask);
+            E element = buffer.get(index);
+            if (element == null) {
+                break;
+            }
+            // 先清空槽位再推进 head，生产者看到新的 head 时槽位一定已可写
+            buffer.lazySet(index, null);
+            target.add(element);
+            position++;
+            count++;
+        }
+        head = position;
+        return count;
+    }
+
+    /**
+     * 当前元素数量（近似值）
+     */
+    public int size() {
+        return (int) Math.max(0, tail.get() - head);
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+}
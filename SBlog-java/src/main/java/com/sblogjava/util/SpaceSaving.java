@@ -0,0 +1,85 @@
+package com.sblogjava.util;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Space-Saving 高频元素统计
+ * 最多跟踪 capacity 个键，超出时替换计数最小的键并继承其计数，
+ * 因此内存固定，频次高于 总数/capacity 的键一定会被保留（计数可能偏高，偏差不超过被替换键的计数）。
+ * 非线程安全，由调用方加锁
+ */
+public class SpaceSaving {
+
+    private final int capacity;
+
+    // 键 -> 计数
+    private final Map<Long, Counter> counters = new HashMap<>();
+
+    // 计数 -> 该计数下的键，用于找到计数最小的键
+    private final TreeMap<Long, Set<Long>> byCount = new TreeMap<>();
+
+    public SpaceSaving(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * 记录键出现 increment 次
+     */
+    public void offer(Long key, long increment) {
+        Counter counter = counters.get(key);
+        if (counter != null) {
+            unlink(key, counter.count);
+            counter.count += increment;
+        } else if (counters.size() < capacity) {
+            counter = new Counter(increment);
+            counters.put(key, counter);
+        } else {
+            // 替换计数最小的键
+            Map.Entry<Long, Set<Long>> min = byCount.firstEntry();
+            Long evicted = min.getValue().iterator().next();
+            unlink(evicted, min.getKey());
+            counters.remove(evicted);
+            counter = new Counter(min.getKey() + increment);
+            counters.put(key, counter);
+        }
+        byCount.computeIfAbsent(counter.count, k -> new LinkedHashSet<>()).add(key);
+    }
+
+    /**
+     * 当前跟踪的键及其计数（计数为估计上界）
+     */
+    public Map<Long, Long> counts() {
+        Map<Long, Long> result = new HashMap<>(counters.size());
+        counters.forEach((key, counter) -> result.put(key, counter.count));
+        return result;
+    }
+
+    public boolean isEmpty() {
+        return counters.isEmpty();
+    }
+
+    public void clear() {
+        counters.clear();
+        byCount.clear();
+    }
+
+    private void unlink(Long key, long count) {
+        Set<Long> keys = byCount.get(count);
+        keys.remove(key);
+        if (keys.isEmpty()) {
+            byCount.remove(count);
+        }
+    }
+
+    private static class Counter {
+        long count;
+
+        Counter(long count) {
+            this.count = count;
+        }
+    }
+}
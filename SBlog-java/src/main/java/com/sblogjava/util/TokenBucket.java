@@ -0,0 +1,58 @@
+package com.sblogjava.util;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 无锁令牌桶
+ * 状态（令牌数、上次补充时间）放在不可变对象中，通过 CAS 整体替换，多线程并发获取令牌时无需加锁
+ */
+public class TokenBucket {
+
+    private final int capacity;
+
+    // 每纳秒补充的令牌数
+    private final double ratePerNanos;
+
+    private final AtomicReference<State> state;
+
+    /**
+     * @param capacity 桶容量（允许的突发请求数）
+     * @param periodNanos 补满整个桶所需的时间
+     */
+    public TokenBucket(int capacity, long periodNanos, long now) {
+        this.capacity = capacity;
+        this.ratePerNanos = (double) capacity / periodNanos;
+        this.state = new AtomicReference<>(new State(capacity, now));
+    }
+
+    /**
+     * 尝试获取一个令牌
+     * @return 0 表示获取成功，否则为需要等待的纳秒数
+     */
+    public long tryAcquire(long now) {
+        while (true) {
+            State current = state.get();
+            double tokens = refill(current, now);
+            if (tokens < 1) {
+                return (long) Math.ceil((1 - tokens) / ratePerNanos);
+            }
+            if (state.compareAndSet(current, new State(tokens - 1, Math.max(now, current.time())))) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * 桶是否已补满（补满后与新建的桶等价，可以丢弃）
+     */
+    public boolean isFull(long now) {
+        return refill(state.get(), now) >= capacity;
+    }
+
+    private double refill(State current, long now) {
+        return Math.min(capacity, current.tokens() + Math.max(0, now - current.time()) * ratePerNanos);
+    }
+
+    private record State(double tokens, long time) {
+    }
+}
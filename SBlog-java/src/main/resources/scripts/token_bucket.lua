@@ -0,0 +1,31 @@
+-- 令牌桶限流（原子执行）
+-- KEYS[1]: 桶的 key
+-- ARGV[1]: 桶容量, ARGV[2]: 每毫秒补充的令牌数
+-- 返回需要等待的毫秒数，0 表示放行
+local capacity = tonumber(ARGV[1])
+local rate = tonumber(ARGV[2])
+
+-- 使用 Redis 服务器时间，避免各节点时钟不一致
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+
+local state = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+local tokens = tonumber(state[1])
+local ts = tonumber(state[2])
+if tokens == nil or ts == nil then
+    tokens = capacity
+    ts = now
+end
+
+tokens = math.min(capacity, tokens + math.max(0, now - ts) * rate)
+local wait = 0
+if tokens >= 1 then
+    tokens = tokens - 1
+else
+    wait = math.ceil((1 - tokens) / rate)
+end
+
+redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', tostring(now))
+-- 桶补满后与新建的桶等价，可以过期删除
+redis.call('PEXPIRE', KEYS[1], math.ceil(capacity / rate))
+return wait
@@ -0,0 +1,57 @@
+package com.sblogjava.interceptor;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.MethodParameter;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @CurrentUser 参数解析测试
+ */
+class CurrentUserArgumentResolverTests {
+
+    private final CurrentUserArgumentResolver resolver = new CurrentUserArgumentResolver();
+
+    @Test
+    void onlyAnnotatedAuthUserParametersAreSupported() throws Exception {
+        assertTrue(resolver.supportsParameter(parameter("handler", AuthUser.class)));
+        assertFalse(resolver.supportsParameter(parameter("withoutAnnotation", AuthUser.class)));
+        assertFalse(resolver.supportsParameter(parameter("wrongType", String.class)));
+    }
+
+    @Test
+    void resolvesUserStoredByInterceptor() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        MethodParameter parameter = parameter("handler", AuthUser.class);
+        // 未经过拦截器的请求没有当前用户
+        assertNull(resolver.resolveArgument(parameter, null, new ServletWebRequest(request), null));
+
+        AuthUser user = new AuthUser(7L, "admin", "ADMIN", "s1");
+        request.setAttribute(AuthUser.REQUEST_ATTRIBUTE, user);
+        Object resolved = resolver.resolveArgument(parameter, null, new ServletWebRequest(request), null);
+        assertSame(user, resolved);
+        assertEquals("admin", ((AuthUser) resolved).username());
+    }
+
+    private static MethodParameter parameter(String method, Class<?> type) throws NoSuchMethodException {
+        return new MethodParameter(CurrentUserArgumentResolverTests.class.getDeclaredMethod(method, type), 0);
+    }
+
+    @SuppressWarnings("unused")
+    private void handler(@CurrentUser AuthUser user) {
+    }
+
+    @SuppressWarnings("unused")
+    private void withoutAnnotation(AuthUser user) {
+    }
+
+    @SuppressWarnings("unused")
+    private void wrongType(@CurrentUser String user) {
+    }
+}
@@ -0,0 +1,72 @@
+package com.sblogjava.interceptor;
+
+import com.sblogjava.service.SessionService;
+import com.sblogjava.util.JwtKeyRing;
+import com.sblogjava.util.JwtUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Token 拦截器测试：验证 Token 和服务端会话
+ */
+class TokenInterceptorTests {
+
+    private final JwtUtil jwtUtil = new JwtUtil(new JwtKeyRing("", "", "", "PKCS12", ""), 100);
+
+    private final SessionService sessionService = mock(SessionService.class);
+
+    private final TokenInterceptor interceptor = new TokenInterceptor();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(interceptor, "jwtUtil", jwtUtil);
+        ReflectionTestUtils.setField(interceptor, "sessionService", sessionService);
+    }
+
+    @Test
+    void validTokenStoresAuthUserInRequest() throws Exception {
+        when(sessionService.isActive(7L, "s1")).thenReturn(true);
+        MockHttpServletRequest request = requestWithToken(jwtUtil.generateToken(7L, "admin", "ADMIN", "s1"));
+
+        assertTrue(interceptor.preHandle(request, new MockHttpServletResponse(), null));
+        assertEquals(new AuthUser(7L, "admin", "ADMIN", "s1"), request.getAttribute(AuthUser.REQUEST_ATTRIBUTE));
+    }
+
+    @Test
+    void revokedSessionIsRejected() throws Exception {
+        when(sessionService.isActive(7L, "s1")).thenReturn(false);
+        MockHttpServletRequest request = requestWithToken(jwtUtil.generateToken(7L, "admin", "ADMIN", "s1"));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertFalse(interceptor.preHandle(request, response, null));
+        assertEquals(401, response.getStatus());
+        assertNull(request.getAttribute(AuthUser.REQUEST_ATTRIBUTE));
+    }
+
+    @Test
+    void missingOrInvalidTokenIsRejected() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertFalse(interceptor.preHandle(new MockHttpServletRequest("GET", "/api/admin/users"), response, null));
+        assertEquals(401, response.getStatus());
+
+        response = new MockHttpServletResponse();
+        assertFalse(interceptor.preHandle(requestWithToken("invalid"), response, null));
+        assertEquals(401, response.getStatus());
+    }
+
+    private static MockHttpServletRequest requestWithToken(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/admin/users");
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+}
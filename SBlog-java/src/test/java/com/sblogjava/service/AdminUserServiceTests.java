@@ -0,0 +1,90 @@
+package com.sblogjava.service;
+
+import com.sblogjava.Dto.AdminUserRequest;
+import com.sblogjava.Dto.UserDto;
+import com.sblogjava.Dto.UserPageResult;
+import com.sblogjava.dao.User;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 后台用户列表与搜索测试
+ */
+@JpaServiceTest
+@Import(AdminUserServiceImpl.class)
+class AdminUserServiceTests {
+
+    @Autowired
+    private AdminUserService adminUserService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @MockitoBean
+    private SessionService sessionService;
+
+    @MockitoBean
+    private PasswordHashService passwordHashService;
+
+    private Long aliceId;
+
+    @BeforeEach
+    void setUp() {
+        aliceId = persist("alice", "alice@example.com");
+        persist("bob", "bob@sample.org");
+        persist("malice", "m@example.com");
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void listMatchesKeywordAnywhereInUsernameOrEmail() {
+        assertEquals(List.of("alice", "malice"), usernames(adminUserService.getUsers(1, 10, "lic")));
+        assertEquals(2, adminUserService.getUsers(1, 10, "lic").getTotal());
+        assertEquals(List.of("bob"), usernames(adminUserService.getUsers(1, 10, "sample")));
+        assertEquals(3, adminUserService.getUsers(1, 10, null).getTotal());
+    }
+
+    @Test
+    void searchMatchesPrefixOnly() {
+        assertEquals(List.of("alice"), usernames(adminUserService.searchUsers("Ali", null, 10)));
+        assertEquals(List.of(), usernames(adminUserService.searchUsers("lic", null, 10)));
+        // 关键字含 @ 时按邮箱匹配
+        assertEquals(List.of("malice"), usernames(adminUserService.searchUsers("m@", null, 10)));
+    }
+
+    @Test
+    void emailChangeRefreshesSearchCount() {
+        assertEquals(1, adminUserService.searchUsers("bob@", null, 10).getTotal());
+
+        AdminUserRequest request = new AdminUserRequest();
+        request.setEmail("bob@example.com");
+        adminUserService.updateUser(aliceId, request);
+        entityManager.flush();
+
+        // 邮箱变更后匹配数立即更新，不等缓存过期
+        assertEquals(2, adminUserService.searchUsers("bob@", null, 10).getTotal());
+    }
+
+    private Long persist(String username, String email) {
+        User user = new User();
+        user.setUsername(username);
+        user.setPassword("x");
+        user.setEmail(email);
+        entityManager.persist(user);
+        return user.getId();
+    }
+
+    private static List<String> usernames(UserPageResult result) {
+        return result.getList().stream().map(UserDto::getUsername).collect(Collectors.toList());
+    }
+}
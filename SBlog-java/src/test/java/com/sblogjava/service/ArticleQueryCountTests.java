@@ -0,0 +1,206 @@
+package com.sblogjava.service;
+
+import com.sblogjava.Dto.ArticleDto;
+import com.sblogjava.Dto.ArticlePageResult;
+import com.sblogjava.Dto.ArticleSummaryDto;
+import com.sblogjava.Dto.CategoryDto;
+import com.sblogjava.Dto.TagDto;
+import com.sblogjava.dao.Article;
+import com.sblogjava.dao.Category;
+import com.sblogjava.dao.Tag;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * 文章列表、详情查询的 SQL 语句数量测试
+ * 每页查询的语句数应固定，不随每页文章数增加
+ */
+@JpaServiceTest
+@Import({ArticleServiceImpl.class, MarkdownRenderService.class, CategoryTagCounterService.class,
+        CategoryServiceImpl.class, TagServiceImpl.class, RelatedArticleService.class, TrendingService.class})
+@MockitoBean(types = {ViewCounterService.class, ArticleSearchIndex.class, SnapshotPublisher.class,
+        DailyStatsService.class})
+class ArticleQueryCountTests {
+
+    @Autowired
+    private ArticleService articleService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private TagService tagService;
+
+    @Autowired
+    private CategoryTagCounterService categoryTagCounterService;
+
+    @Autowired
+    private RelatedArticleService relatedArticleService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Long firstArticleId;
+
+    @BeforeEach
+    void setUp() {
+        Category[] categories = new Category[3];
+        for (int i = 0; i < categories.length; i++) {
+            categories[i] = new Category();
+            categories[i].setName("分类" + i);
+            entityManager.persist(categories[i]);
+        }
+        Tag[] tags = new Tag[4];
+        for (int i = 0; i < tags.length; i++) {
+            tags[i] = new Tag();
+            tags[i].setName("标签" + i);
+            entityManager.persist(tags[i]);
+        }
+        for (int i = 0; i < 30; i++) {
+            Article article = new Article();
+            article.setTitle("文章" + i);
+            article.setContent("正文" + i);
+            article.setStatus(Article.ArticleStatus.PUBLISHED);
+            article.setCategory(categories[i % categories.length]);
+            article.setTags(List.of(tags[i % tags.length], tags[(i + 1) % tags.length]));
+            entityManager.persist(article);
+            if (firstArticleId == null) {
+                firstArticleId = article.getId();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void listPageUsesConstantNumberOfStatements() {
+        long smallPage = countStatements(() -> articleService.getArticles(1, 5, "published", null));
+        long largePage = countStatements(() -> articleService.getArticles(1, 20, "published", null));
+
+        // 分页查询 + 总数查询 + 批量加载标签
+        assertEquals(3, smallPage);
+        assertEquals(smallPage, largePage);
+    }
+
+    @Test
+    void categoryAndTagListUsesConstantNumberOfStatements() {
+        long smallPage = countStatements(() -> articleService.getArticlesByCategoryAndTag(1, 2, "published", null, null));
+        long largePage = countStatements(() -> articleService.getArticlesByCategoryAndTag(1, 20, "published", null, null));
+
+        assertEquals(3, smallPage);
+        assertEquals(smallPage, largePage);
+    }
+
+    @Test
+    void cursorListSkipsCountQuery() {
+        long[] statements = new long[1];
+        ArticlePageResult[] firstPage = new ArticlePageResult[1];
+        statements[0] = countStatements(() -> firstPage[0] = articleService.getArticlesByCursor(10, "published", null, null, ""));
+        long nextPage = countStatements(() -> articleService.getArticlesByCursor(10, "published", null, null, firstPage[0].getNextCursor()));
+
+        // 列表查询 + 批量加载标签
+        assertEquals(2, statements[0]);
+        assertEquals(2, nextPage);
+        assertEquals(10, firstPage[0].getList().size());
+    }
+
+    @Test
+    void detailLoadsCategoryAndTagsInOneStatement() {
+        ArticleDto[] article = new ArticleDto[1];
+        long statements = countStatements(() -> article[0] = articleService.getById(firstArticleId));
+
+        assertEquals(1, statements);
+        assertEquals(2, article[0].getTags().size());
+    }
+
+    @Test
+    void publishedDetailReturnsRenderedHtmlOnly() {
+        ArticleDto[] article = new ArticleDto[1];
+        long statements = countStatements(() -> article[0] = articleService.getPublishedById(firstArticleId));
+
+        assertEquals(1, statements);
+        assertNull(article[0].getContent());
+        assertEquals("<p>正文0</p>\n", article[0].getContentHtml());
+    }
+
+    @Test
+    void relatedArticlesAreLoadedInOneBatch() {
+        relatedArticleService.rebuild();
+
+        List<ArticleSummaryDto>[] related = new List[1];
+        long statements = countStatements(() -> related[0] = articleService.getRelatedArticles(firstArticleId));
+
+        // 文章摘要 + 批量加载标签
+        assertEquals(2, statements);
+        assertEquals(5, related[0].size());
+        // 标签完全相同且同分类的文章排在最前
+        ArticleDto source = articleService.getById(firstArticleId);
+        assertEquals(source.getCategoryId(), related[0].get(0).getCategoryId());
+        assertEquals(Set.copyOf(source.getTagIds()), Set.copyOf(related[0].get(0).getTagIds()));
+    }
+
+    @Test
+    void trendingArticlesAreLoadedInOneBatch() {
+        for (int i = 0; i < 3; i++) {
+            articleService.incrementViews(firstArticleId + 1);
+        }
+        articleService.incrementViews(firstArticleId);
+
+        List<ArticleSummaryDto>[] trending = new List[1];
+        long statements = countStatements(() -> trending[0] = articleService.getTrendingArticles("24h", 10));
+
+        // 文章摘要 + 批量加载标签（排行顺序见 TrendingServiceTests）
+        assertEquals(2, statements);
+        assertEquals(2, trending[0].size());
+    }
+
+    @Test
+    void categoryAndTagCountsAreReadFromCounterColumns() {
+        categoryTagCounterService.reconcile();
+
+        List<CategoryDto>[] categories = new List[1];
+        List<TagDto>[] tags = new List[1];
+        assertEquals(1, countStatements(() -> categories[0] = categoryService.findAll()));
+        assertEquals(1, countStatements(() -> tags[0] = tagService.findAll()));
+        categories[0].forEach(category -> assertEquals(10, category.getArticleCount()));
+        // 每篇文章两个标签
+        assertEquals(60, tags[0].stream().mapToInt(TagDto::getArticleCount).sum());
+
+        // 删除文章后分类和标签的计数同步减少
+        ArticleDto article = articleService.getById(firstArticleId);
+        Map<Long, Integer> tagCounts = tags[0].stream()
+                .collect(Collectors.toMap(TagDto::getId, TagDto::getArticleCount));
+        articleService.delete(firstArticleId);
+        entityManager.clear();
+        assertEquals(9, categoryService.findById(article.getCategoryId()).getArticleCount());
+        for (Long tagId : article.getTagIds()) {
+            assertEquals(tagCounts.get(tagId) - 1, tagService.findById(tagId).getArticleCount());
+        }
+    }
+
+    private long countStatements(Runnable action) {
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+}
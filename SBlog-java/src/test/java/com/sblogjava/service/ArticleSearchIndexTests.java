@@ -0,0 +1,105 @@
+package com.sblogjava.service;
+
+import com.sblogjava.dao.Article;
+import com.sblogjava.dao.ArticleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 文章检索索引测试
+ */
+class ArticleSearchIndexTests {
+
+    private final ArticleRepository articleRepository = mock(ArticleRepository.class);
+
+    private ArticleSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ArticleSearchIndex();
+        ReflectionTestUtils.setField(index, "articleRepository", articleRepository);
+        ReflectionTestUtils.setField(index, "mode", "index");
+    }
+
+    @Test
+    void allQueryTermsMustMatch() {
+        rebuildWith(article(1L, "Spring 缓存", "Redis 缓存配置"),
+                article(2L, "Spring 事务", "事务传播"),
+                article(3L, "Redis 入门", "安装"));
+
+        assertEquals(List.of(1L), index.search("spring 缓存", 0, 10).ids());
+        assertEquals(2, index.search("spring", 0, 10).total());
+        assertEquals(0, index.search("spring 入门", 0, 10).total());
+        assertEquals(0, index.search("不存在", 0, 10).total());
+    }
+
+    @Test
+    void titleMatchesRankAboveContentMatches() {
+        rebuildWith(article(1L, "随笔", "这里提到了检索"),
+                article(2L, "检索", "正文"),
+                article(3L, "其他", "无关"));
+
+        // 标题权重高于正文
+        assertEquals(List.of(2L, 1L), index.search("检索", 0, 10).ids());
+        // 分页
+        assertEquals(List.of(1L), index.search("检索", 1, 10).ids());
+        assertEquals(2, index.search("检索", 1, 10).total());
+    }
+
+    @Test
+    void unpublishedAndRemovedArticlesLeaveTheIndex() {
+        rebuildWith(article(1L, "检索", ""), article(2L, "检索", ""));
+
+        Article draft = article(1L, "检索", "");
+        draft.setStatus(Article.ArticleStatus.DRAFT);
+        index.index(draft);
+        index.remove(2L);
+
+        assertEquals(0, index.search("检索", 0, 10).total());
+    }
+
+    @Test
+    void changesDuringRebuildAreNotOverwritten() {
+        Article stale = article(1L, "旧标题", "");
+        Article deleted = article(2L, "旧标题", "");
+        when(articleRepository.findIdsByStatus(Article.ArticleStatus.PUBLISHED)).thenReturn(List.of(1L, 2L));
+        when(articleRepository.findWithDetailsByIdIn(any())).thenAnswer(invocation -> {
+            // 读取之后、写入索引之前，文章被修改、被删除（事务已提交）
+            index.index(article(1L, "新标题", ""));
+            index.remove(2L);
+            return List.of(stale, deleted);
+        });
+
+        index.rebuild();
+
+        assertTrue(index.isAvailable());
+        assertEquals(List.of(1L), index.search("新标题", 0, 10).ids());
+        assertEquals(0, index.search("旧标题", 0, 10).total());
+    }
+
+    private void rebuildWith(Article... articles) {
+        List<Article> list = List.of(articles);
+        when(articleRepository.findIdsByStatus(Article.ArticleStatus.PUBLISHED))
+                .thenReturn(list.stream().map(Article::getId).toList());
+        when(articleRepository.findWithDetailsByIdIn(any())).thenReturn(list);
+        index.rebuild();
+    }
+
+    private static Article article(Long id, String title, String content) {
+        Article article = new Article();
+        article.setId(id);
+        article.setTitle(title);
+        article.setContent(content);
+        article.setStatus(Article.ArticleStatus.PUBLISHED);
+        return article;
+    }
+}
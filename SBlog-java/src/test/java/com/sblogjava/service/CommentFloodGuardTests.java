@@ -0,0 +1,70 @@
+package com.sblogjava.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 评论防刷测试
+ */
+class CommentFloodGuardTests {
+
+    private CommentFloodGuard guard;
+
+    @BeforeEach
+    void setUp() {
+        guard = new CommentFloodGuard();
+        ReflectionTestUtils.setField(guard, "ipMax", 3);
+        ReflectionTestUtils.setField(guard, "ipWindow", 60_000L);
+        ReflectionTestUtils.setField(guard, "dedupWindow", 3_600_000L);
+        ReflectionTestUtils.setField(guard, "expectedComments", 1000);
+        guard.init();
+    }
+
+    @Test
+    void repeatedContentIsRejectedAfterSuccessfulInsert() {
+        guard.succeeded(guard.check(1L, "1.1.1.1", "Hello，世界！"));
+
+        RuntimeException e = assertThrows(RuntimeException.class,
+                () -> guard.check(1L, "2.2.2.2", " hello,世界 "));
+        assertEquals("请勿重复发表相同的评论", e.getMessage());
+        // 其他文章下可以发表相同内容
+        assertDoesNotThrow(() -> guard.check(2L, "2.2.2.2", "Hello，世界！"));
+    }
+
+    @Test
+    void failedInsertCanBeRetried() {
+        for (int i = 0; i < 5; i++) {
+            guard.failed(guard.check(1L, "1.1.1.1", "回复失败的评论"));
+        }
+        // 失败的提交既不记录内容，也不占用频率限额
+        guard.succeeded(guard.check(1L, "1.1.1.1", "回复失败的评论"));
+    }
+
+    @Test
+    void concurrentSubmissionOfSameContentIsRejected() {
+        CommentFloodGuard.Submission first = guard.check(1L, "1.1.1.1", "同时提交");
+        assertThrows(RuntimeException.class, () -> guard.check(1L, "2.2.2.2", "同时提交"));
+        guard.succeeded(first);
+    }
+
+    @Test
+    void contentWithoutLettersIsNotDeduplicated() {
+        guard.succeeded(guard.check(1L, "1.1.1.1", "👍"));
+        guard.succeeded(guard.check(1L, "2.2.2.2", "🎉🎉"));
+        guard.succeeded(guard.check(1L, "3.3.3.3", "！！！"));
+    }
+
+    @Test
+    void ipIsLimitedWithinWindow() {
+        for (int i = 0; i < 3; i++) {
+            guard.succeeded(guard.check(1L, "1.1.1.1", "评论" + i));
+        }
+        RuntimeException e = assertThrows(RuntimeException.class, () -> guard.check(1L, "1.1.1.1", "评论3"));
+        assertEquals("评论过于频繁，请稍后再试", e.getMessage());
+    }
+}
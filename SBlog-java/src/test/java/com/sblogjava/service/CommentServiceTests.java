@@ -0,0 +1,182 @@
+package com.sblogjava.service;
+
+import com.sblogjava.Dto.BulkModerationRequest;
+import com.sblogjava.Dto.CommentCreateRequest;
+import com.sblogjava.Dto.CommentDto;
+import com.sblogjava.Dto.CommentPageResult;
+import com.sblogjava.Dto.ReplyRequest;
+import com.sblogjava.dao.Article;
+import com.sblogjava.dao.Category;
+import com.sblogjava.dao.Comment;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 评论服务测试：评论数更新与校正、回复树分页、批量删除
+ */
+@JpaServiceTest
+@Import({ArticleServiceImpl.class, ArticleCounterService.class, CommentServiceImpl.class})
+@MockitoBean(types = {ViewCounterService.class, ArticleSearchIndex.class, MarkdownRenderService.class,
+        SnapshotPublisher.class, CategoryTagCounterService.class, RelatedArticleService.class,
+        TrendingService.class, DailyStatsService.class})
+class CommentServiceTests {
+
+    @Autowired
+    private ArticleService articleService;
+
+    @Autowired
+    private ArticleCounterService articleCounterService;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Long firstArticleId;
+
+    @BeforeEach
+    void setUp() {
+        Category category = new Category();
+        category.setName("分类");
+        entityManager.persist(category);
+        for (int i = 0; i < 2; i++) {
+            Article article = new Article();
+            article.setTitle("文章" + i);
+            article.setContent("正文" + i);
+            article.setStatus(Article.ArticleStatus.PUBLISHED);
+            article.setCategory(category);
+            entityManager.persist(article);
+            if (firstArticleId == null) {
+                firstArticleId = article.getId();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void commentCountIsUpdatedInOneStatementAndReconciled() {
+        Article article = entityManager.find(Article.class, firstArticleId);
+        for (int i = 0; i < 2; i++) {
+            Comment comment = new Comment();
+            comment.setContent("评论" + i);
+            comment.setArticle(article);
+            entityManager.persist(comment);
+        }
+        entityManager.flush();
+
+        // 只执行一条 UPDATE，不读取文章
+        assertEquals(1, countStatements(() -> articleService.updateCommentCount(firstArticleId, 1)));
+        assertEquals(1, articleService.getById(firstArticleId).getComments());
+
+        // 校正后与评论表一致，其他文章不受影响
+        assertEquals(1, articleCounterService.reconcileCommentCounts());
+        entityManager.clear();
+        assertEquals(2, articleService.getById(firstArticleId).getComments());
+        assertEquals(0, articleService.getById(firstArticleId + 1).getComments());
+    }
+
+    @Test
+    void threadedCommentsArePagedWithConstantNumberOfStatements() {
+        for (int i = 0; i < 5; i++) {
+            commentService.createComment(commentRequest("评论" + i, null), "127.0.0." + i);
+        }
+        entityManager.flush();
+        CommentPageResult firstPage = commentService.getApprovedComments(firstArticleId, null, 3);
+        Long rootId = firstPage.getList().get(0).getId();
+        // 两级回复 + 博主回复
+        commentService.createComment(commentRequest("回复", rootId), "127.0.0.9");
+        entityManager.flush();
+        Long replyId = commentService.getApprovedComments(firstArticleId, null, 3).getList().get(0).getReplies().get(0).getId();
+        commentService.createComment(commentRequest("回复的回复", replyId), "127.0.0.9");
+        ReplyRequest adminReply = new ReplyRequest();
+        adminReply.setContent("博主回复");
+        commentService.replyComment(rootId, adminReply);
+        entityManager.flush();
+
+        // 顶层评论 + 回复树，各一条语句
+        CommentPageResult[] page = new CommentPageResult[1];
+        assertEquals(2, countStatements(() -> page[0] = commentService.getApprovedComments(firstArticleId, null, 3)));
+        assertEquals(3, page[0].getList().size());
+        CommentDto root = page[0].getList().get(0);
+        assertEquals(List.of("回复", "博主回复"), root.getReplies().stream().map(CommentDto::getContent).collect(Collectors.toList()));
+        assertEquals("回复的回复", root.getReplies().get(0).getReplies().get(0).getContent());
+
+        CommentPageResult nextPage = commentService.getApprovedComments(firstArticleId, page[0].getNextCursor(), 3);
+        assertEquals(2, nextPage.getList().size());
+        assertEquals(null, nextPage.getNextCursor());
+
+        // 删除顶层评论时连同回复一起删除
+        assertEquals(8, articleService.getById(firstArticleId).getComments());
+        commentService.deleteComment(rootId);
+        entityManager.clear();
+        assertEquals(4, articleService.getById(firstArticleId).getComments());
+    }
+
+    @Test
+    void bulkDeleteRemovesRepliesAndRecountsArticles() {
+        for (int i = 0; i < 3; i++) {
+            commentService.createComment(commentRequest("评论" + i, null), "127.0.0." + i);
+        }
+        entityManager.flush();
+        List<CommentDto> roots = commentService.getApprovedComments(firstArticleId, null, 10).getList();
+        commentService.createComment(commentRequest("回复", roots.get(0).getId()), "127.0.0.9");
+        entityManager.flush();
+
+        BulkModerationRequest markSpam = new BulkModerationRequest();
+        markSpam.setAction("spam");
+        markSpam.setIds(List.of(roots.get(0).getId(), roots.get(1).getId()));
+        assertEquals(2, commentService.bulkModerate(markSpam));
+
+        // 空白的状态不是筛选条件，不能删除全部评论
+        BulkModerationRequest blankStatus = new BulkModerationRequest();
+        blankStatus.setAction("delete");
+        blankStatus.setStatus("");
+        assertThrows(RuntimeException.class, () -> commentService.bulkModerate(blankStatus));
+        entityManager.clear();
+        assertEquals(4, articleService.getById(firstArticleId).getComments());
+
+        // 按状态筛选删除，回复随顶层评论一起删除
+        BulkModerationRequest deleteSpam = new BulkModerationRequest();
+        deleteSpam.setAction("delete");
+        deleteSpam.setStatus("spam");
+        assertEquals(3, commentService.bulkModerate(deleteSpam));
+        entityManager.clear();
+        assertEquals(1, articleService.getById(firstArticleId).getComments());
+        assertEquals(1, commentService.getApprovedComments(firstArticleId, null, 10).getList().size());
+    }
+
+    private CommentCreateRequest commentRequest(String content, Long parentId) {
+        CommentCreateRequest request = new CommentCreateRequest();
+        request.setArticleId(firstArticleId);
+        request.setAuthor("访客");
+        request.setContent(content);
+        request.setParentId(parentId);
+        return request;
+    }
+
+    private long countStatements(Runnable action) {
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+}
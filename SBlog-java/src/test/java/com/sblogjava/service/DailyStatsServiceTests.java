@@ -0,0 +1,130 @@
+package com.sblogjava.service;
+
+import com.sblogjava.Dto.ArticleRequest;
+import com.sblogjava.dao.Article;
+import com.sblogjava.dao.Category;
+import com.sblogjava.dao.DailyStat;
+import com.sblogjava.dao.VisitLog;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * 每日统计测试
+ */
+@JpaServiceTest
+@Import({ArticleServiceImpl.class, DailyStatsService.class})
+@MockitoBean(types = {ViewCounterService.class, ArticleSearchIndex.class, MarkdownRenderService.class,
+        SnapshotPublisher.class, CategoryTagCounterService.class, RelatedArticleService.class,
+        TrendingService.class, DashboardStreamService.class})
+class DailyStatsServiceTests {
+
+    @Autowired
+    private ArticleService articleService;
+
+    @Autowired
+    private DailyStatsService dailyStatsService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Long firstArticleId;
+
+    @BeforeEach
+    void setUp() {
+        Category category = new Category();
+        category.setName("分类");
+        entityManager.persist(category);
+        for (int i = 0; i < 3; i++) {
+            Article article = new Article();
+            article.setTitle("文章" + i);
+            article.setContent("正文" + i);
+            article.setStatus(Article.ArticleStatus.PUBLISHED);
+            article.setCategory(category);
+            entityManager.persist(article);
+            if (firstArticleId == null) {
+                firstArticleId = article.getId();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void backfillAndArticleDelete() {
+        dailyStatsService.backfill();
+        LocalDate today = LocalDate.now();
+        assertEquals(3, dailyStatsService.getDailyTotals(today, today).get(today).getArticlesPublished());
+
+        // 删除已发布文章后当天的发布数减一
+        articleService.delete(firstArticleId);
+        entityManager.clear();
+        assertEquals(2, dailyStatsService.getDailyTotals(today, today).get(today).getArticlesPublished());
+    }
+
+    @Test
+    void draftPublishedLaterCountsOnPublishDate() {
+        Article draft = new Article();
+        draft.setTitle("草稿");
+        draft.setContent("正文");
+        entityManager.persist(draft);
+        entityManager.flush();
+        LocalDate created = LocalDate.now().minusDays(3);
+        entityManager.createNativeQuery("UPDATE articles SET created_at = :createdAt WHERE id = :id")
+                .setParameter("createdAt", created.atStartOfDay())
+                .setParameter("id", draft.getId())
+                .executeUpdate();
+        entityManager.clear();
+        dailyStatsService.backfill();
+
+        ArticleRequest request = new ArticleRequest();
+        request.setTitle("草稿");
+        request.setContent("正文");
+        request.setStatus("published");
+        request.setAllowComment(true);
+        articleService.update(draft.getId(), request);
+        entityManager.clear();
+
+        // 发布数计入发布当天，而不是创建日期
+        LocalDate today = LocalDate.now();
+        assertEquals(4, dailyStatsService.getDailyTotals(today, today).get(today).getArticlesPublished());
+        assertNull(dailyStatsService.getDailyTotals(created, created).get(created));
+
+        // 回填按相同口径统计
+        dailyStatsService.backfill();
+        entityManager.clear();
+        assertEquals(4, dailyStatsService.getDailyTotals(today, today).get(today).getArticlesPublished());
+    }
+
+    @Test
+    void visitsAccumulateAndBackfillFromVisitLogs() {
+        LocalDate today = LocalDate.now();
+        dailyStatsService.addVisits(Map.of(today, 2L));
+        dailyStatsService.addVisits(Map.of(today, 3L));
+        entityManager.clear();
+        DailyStat stat = dailyStatsService.getDailyTotals(today, today).get(today);
+        assertEquals(5, stat.getVisits());
+
+        // 回填以访问日志为准
+        for (int i = 0; i < 4; i++) {
+            VisitLog log = new VisitLog();
+            log.setPath("/article/" + firstArticleId);
+            log.setVisitedAt(LocalDateTime.now());
+            entityManager.persist(log);
+        }
+        entityManager.flush();
+        dailyStatsService.backfill();
+        entityManager.clear();
+        assertEquals(4, dailyStatsService.getDailyTotals(today, today).get(today).getVisits());
+    }
+}
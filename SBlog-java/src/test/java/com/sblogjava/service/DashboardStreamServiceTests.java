@@ -0,0 +1,49 @@
+package com.sblogjava.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 仪表盘推送连接令牌测试
+ */
+class DashboardStreamServiceTests {
+
+    private DashboardStreamService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new DashboardStreamService();
+        ReflectionTestUtils.setField(service, "tokenTtl", 30_000L);
+        ReflectionTestUtils.setField(service, "maxTokens", 2);
+    }
+
+    @Test
+    void streamTokenCanBeUsedOnlyOnce() {
+        String token = service.issueToken();
+        assertNotEquals(token, service.issueToken());
+
+        assertTrue(service.consumeToken(token));
+        assertFalse(service.consumeToken(token));
+        assertFalse(service.consumeToken("unknown"));
+        assertFalse(service.consumeToken(null));
+    }
+
+    @Test
+    void expiredStreamTokenIsRejected() {
+        ReflectionTestUtils.setField(service, "tokenTtl", -1L);
+        assertFalse(service.consumeToken(service.issueToken()));
+    }
+
+    @Test
+    void unusedTokensAreBounded() {
+        service.issueToken();
+        service.issueToken();
+        assertThrows(RuntimeException.class, service::issueToken);
+    }
+}
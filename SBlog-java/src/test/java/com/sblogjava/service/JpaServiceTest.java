@@ -0,0 +1,31 @@
+package com.sblogjava.service;
+
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 服务层 JPA 测试的公共配置
+ * 使用 MySQL 兼容模式的 H2 内存库，开启 Hibernate 统计用于断言语句数量；
+ * 被测服务由测试类 @Import，用不到的依赖用 @MockitoBean 替换
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        // 避免后台回写浏览量的语句计入统计
+        "article.views.flush-interval=3600000",
+        // 每日统计等语句使用 MySQL 的 ON DUPLICATE KEY UPDATE，不替换为默认的嵌入式数据库
+        "spring.test.database.replace=none",
+        "spring.datasource.url=jdbc:h2:mem:sblog;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password="
+})
+@interface JpaServiceTest {
+}
@@ -0,0 +1,79 @@
+package com.sblogjava.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 登录尝试限制测试
+ */
+class LoginThrottleServiceTests {
+
+    private LoginThrottleService throttle;
+
+    @BeforeEach
+    void setUp() {
+        throttle = new LoginThrottleService();
+        ReflectionTestUtils.setField(throttle, "usernameMax", 3);
+        ReflectionTestUtils.setField(throttle, "ipMax", 5);
+        ReflectionTestUtils.setField(throttle, "window", 3600L);
+        ReflectionTestUtils.setField(throttle, "maxBuckets", 100);
+    }
+
+    @Test
+    void usernameIsLimitedPerIp() {
+        for (int i = 0; i < 3; i++) {
+            throttle.check("Admin", "10.0.0.1");
+        }
+        assertThrows(RuntimeException.class, () -> throttle.check("admin", "10.0.0.1"));
+
+        // 登录成功后重置
+        throttle.reset("admin", "10.0.0.1");
+        assertDoesNotThrow(() -> throttle.check("admin", "10.0.0.1"));
+    }
+
+    @Test
+    void otherIpsCannotLockOutUsername() {
+        // 多个 IP 用尽各自对 admin 的尝试次数
+        for (int i = 0; i < 10; i++) {
+            String ip = "10.0.0." + i;
+            for (int j = 0; j < 3; j++) {
+                throttle.check("admin", ip);
+            }
+            assertThrows(RuntimeException.class, () -> throttle.check("admin", ip));
+        }
+        // 其他 IP 上的管理员依然可以登录
+        assertDoesNotThrow(() -> throttle.check("admin", "192.168.1.1"));
+    }
+
+    @Test
+    void limitedIpDoesNotConsumeUsernameAttempts() {
+        for (int i = 0; i < 5; i++) {
+            throttle.check("user" + i, "1.1.1.1");
+        }
+        // IP 已被限制，之后的尝试不再计入用户名
+        for (int i = 0; i < 10; i++) {
+            assertThrows(RuntimeException.class, () -> throttle.check("victim", "1.1.1.1"));
+        }
+        assertDoesNotThrow(() -> throttle.check("victim", "2.2.2.2"));
+    }
+
+    @Test
+    void limitedBucketsAreNotEvictedWhenTableIsFull() {
+        ReflectionTestUtils.setField(throttle, "maxBuckets", 2);
+        for (int i = 0; i < 5; i++) {
+            throttle.check(null, "1.1.1.1");
+        }
+        assertThrows(RuntimeException.class, () -> throttle.check(null, "1.1.1.1"));
+
+        // 剩余的一个位置用完后，新来源共用溢出桶，已限流的 IP 依然被限制
+        for (int i = 0; i < 6; i++) {
+            throttle.check(null, "2.2.2." + i);
+        }
+        assertThrows(RuntimeException.class, () -> throttle.check(null, "2.2.2.9"));
+        assertThrows(RuntimeException.class, () -> throttle.check(null, "1.1.1.1"));
+    }
+}
@@ -0,0 +1,43 @@
+package com.sblogjava.service;
+
+import com.sblogjava.dao.Article;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * 正文渲染缓存测试
+ */
+class MarkdownRenderServiceTests {
+
+    private final MarkdownRenderService service = new MarkdownRenderService(10);
+
+    @Test
+    void savesWithinTheSameSecondRenderTheNewContent() {
+        LocalDateTime updatedAt = LocalDateTime.now().withNano(0);
+        Article article = article(1L, "# 第一版", updatedAt);
+        assertEquals("<h1>第一版</h1>\n", service.getHtml(article));
+
+        // 同一秒内再次保存：updatedAt 不变，内容变化
+        service.prerender(1L, "# 第二版");
+        assertEquals("<h1>第二版</h1>\n", service.getHtml(article(1L, "# 第二版", updatedAt)));
+    }
+
+    @Test
+    void unchangedContentIsServedFromCache() {
+        Article article = article(2L, "**粗体**", null);
+        String first = service.getHtml(article);
+        assertSame(first, service.getHtml(article(2L, "**粗体**", LocalDateTime.now())));
+    }
+
+    private static Article article(Long id, String content, LocalDateTime updatedAt) {
+        Article article = new Article();
+        article.setId(id);
+        article.setContent(content);
+        article.setUpdatedAt(updatedAt);
+        return article;
+    }
+}
@@ -0,0 +1,94 @@
+package com.sblogjava.service;
+
+import com.sblogjava.common.ServiceBusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 密码哈希服务测试
+ */
+class PasswordHashServiceTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private PasswordHashService passwordHashService;
+
+    private ThreadPoolExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        passwordHashService = new PasswordHashService();
+        ReflectionTestUtils.setField(passwordHashService, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(passwordHashService, "strength", 4);
+        ReflectionTestUtils.setField(passwordHashService, "threads", 1);
+        ReflectionTestUtils.setField(passwordHashService, "queueSize", 1);
+        ReflectionTestUtils.setField(passwordHashService, "timeout", 2000L);
+        passwordHashService.init();
+        executor = (ThreadPoolExecutor) ReflectionTestUtils.getField(passwordHashService, "executor");
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        passwordHashService.shutdown();
+    }
+
+    @Test
+    void encodedPasswordMatches() {
+        String encoded = passwordHashService.encode("secret");
+        assertTrue(passwordHashService.matches("secret", encoded));
+        assertFalse(passwordHashService.matches("wrong", encoded));
+        assertFalse(passwordHashService.matches(null, encoded));
+    }
+
+    @Test
+    void fullQueueIsRejectedImmediately() throws InterruptedException {
+        // 占住唯一的哈希线程和队列
+        executor.execute(this::awaitRelease);
+        executor.execute(this::awaitRelease);
+
+        ServiceBusyException e = assertThrows(ServiceBusyException.class,
+                () -> passwordHashService.encode("secret"));
+        assertEquals("服务繁忙，请稍后重试", e.getMessage());
+        assertEquals(1, meterRegistry.counter("password_hash.rejected").count());
+
+        // 队列空出后恢复正常
+        release.countDown();
+        while (executor.getCompletedTaskCount() < 2) {
+            Thread.sleep(10);
+        }
+        assertTrue(passwordHashService.matches("secret", passwordHashService.encode("secret")));
+    }
+
+    @Test
+    void timedOutTaskIsCancelled() {
+        ReflectionTestUtils.setField(passwordHashService, "timeout", 100L);
+        executor.execute(this::awaitRelease);
+
+        assertThrows(ServiceBusyException.class, () -> passwordHashService.encode("secret"));
+        // 超时的任务已取消，不再占用队列
+        executor.purge();
+        assertEquals(0, executor.getQueue().size());
+    }
+
+    private void awaitRelease() {
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
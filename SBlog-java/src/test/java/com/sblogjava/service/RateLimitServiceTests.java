@@ -0,0 +1,73 @@
+package com.sblogjava.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 限流规则解析与进程内令牌桶测试
+ */
+class RateLimitServiceTests {
+
+    @Test
+    void parsesRulesInOrder() {
+        List<RateLimitService.Rule> rules = RateLimitService.parseRules(
+                " POST /api/articles/*/comments=5/60 , /api/**=300/60,");
+
+        assertEquals(2, rules.size());
+        assertEquals(new RateLimitService.Rule(0, "POST", "/api/articles/*/comments", 5, 60), rules.get(0));
+        assertEquals(new RateLimitService.Rule(1, null, "/api/**", 300, 60), rules.get(1));
+    }
+
+    @Test
+    void rejectsMalformedRules() {
+        assertThrows(RuntimeException.class, () -> RateLimitService.parseRules("/api/**=300"));
+        assertThrows(RuntimeException.class, () -> RateLimitService.parseRules("/api/**=0/60"));
+        assertThrows(RuntimeException.class, () -> RateLimitService.parseRules("/api/**"));
+        assertThrows(RuntimeException.class, () -> RateLimitService.parseRules("/api/**=a/60"));
+    }
+
+    @Test
+    void matchesFirstRuleForMethodAndPath() {
+        RateLimitService service = service("POST /api/articles/*/comments=5/60,/api/**=300/60", 100);
+
+        assertEquals(0, service.match("POST", "/api/articles/1/comments").index());
+        assertEquals(1, service.match("GET", "/api/articles/1/comments").index());
+        assertNull(service.match("GET", "/index.html"));
+    }
+
+    @Test
+    void limitedClientsKeepTheirBucketsWhenTableIsFull() {
+        RateLimitService service = service("/api/**=2/3600", 2);
+        RateLimitService.Rule rule = service.match("GET", "/api/x");
+
+        // 攻击目标的限额已用完
+        service.acquire(rule, "victim");
+        service.acquire(rule, "victim");
+        assertTrue(service.acquire(rule, "victim") > 0);
+
+        // 大量伪造的新客户端占满令牌桶表后，目标的限额不会被重置
+        for (int i = 0; i < 100; i++) {
+            service.acquire(rule, "spoofed-" + i);
+        }
+        assertTrue(service.acquire(rule, "victim") > 0);
+        // 新客户端共用溢出桶，同样受限
+        assertTrue(service.acquire(rule, "another") > 0);
+    }
+
+    private static RateLimitService service(String rules, int maxBuckets) {
+        RateLimitService service = new RateLimitService();
+        ReflectionTestUtils.setField(service, "enabled", true);
+        ReflectionTestUtils.setField(service, "mode", "local");
+        ReflectionTestUtils.setField(service, "rulesConfig", rules);
+        ReflectionTestUtils.setField(service, "maxBuckets", maxBuckets);
+        service.init();
+        return service;
+    }
+}
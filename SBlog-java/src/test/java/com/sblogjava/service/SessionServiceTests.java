@@ -0,0 +1,90 @@
+package com.sblogjava.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SetOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 登录会话服务测试
+ */
+class SessionServiceTests {
+
+    private static final String KEY = "login:sessions:1";
+
+    private SessionService sessionService;
+
+    private SetOperations<String, Object> setOperations;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        RedisTemplate<String, Object> redisTemplate = mock(RedisTemplate.class);
+        setOperations = mock(SetOperations.class);
+        when(redisTemplate.opsForSet()).thenReturn(setOperations);
+
+        sessionService = new SessionService(100);
+        ReflectionTestUtils.setField(sessionService, "redisTemplate", redisTemplate);
+        ReflectionTestUtils.setField(sessionService, "cacheTtl", 300_000L);
+        ReflectionTestUtils.setField(sessionService, "missReloadInterval", 1_000L);
+    }
+
+    @Test
+    void revokedSessionIsRejectedWithoutReloading() {
+        when(setOperations.members(KEY)).thenReturn(Set.of("a", "b"));
+        assertTrue(sessionService.isActive(1L, "a"));
+
+        sessionService.revoke(1L, "a");
+
+        // 本地缓存已更新，不需要再读 Redis
+        assertFalse(sessionService.isActive(1L, "a"));
+        assertTrue(sessionService.isActive(1L, "b"));
+        verify(setOperations, times(1)).members(KEY);
+    }
+
+    @Test
+    void revokeDuringLoadIsNotOverwritten() {
+        // 读取 Redis 之后、写入缓存之前收到其他节点的注销通知
+        when(setOperations.members(KEY)).thenAnswer(invocation -> {
+            ReflectionTestUtils.invokeMethod(sessionService, "apply", "revoke", 1L, "a");
+            return Set.of("a");
+        });
+        sessionService.isActive(1L, "a");
+
+        // 过期的加载结果没有写入缓存，重新从 Redis 读取
+        when(setOperations.members(KEY)).thenReturn(Set.of());
+        assertFalse(sessionService.isActive(1L, "a"));
+        verify(setOperations, times(2)).members(KEY);
+    }
+
+    @Test
+    void redisFailureWithoutCacheIsRejected() {
+        when(setOperations.members(anyString())).thenThrow(new RedisConnectionFailureException("down"));
+
+        assertFalse(sessionService.isActive(1L, "a"));
+    }
+
+    @Test
+    void redisFailureFallsBackToCachedSessions() {
+        ReflectionTestUtils.setField(sessionService, "cacheTtl", 0L);
+        when(setOperations.members(KEY)).thenReturn(Set.of("a"));
+        assertTrue(sessionService.isActive(1L, "a"));
+
+        // 缓存已过期且 Redis 不可用时沿用缓存
+        when(setOperations.members(KEY)).thenThrow(new RedisConnectionFailureException("down"));
+        assertTrue(sessionService.isActive(1L, "a"));
+        assertFalse(sessionService.isActive(1L, "b"));
+    }
+}
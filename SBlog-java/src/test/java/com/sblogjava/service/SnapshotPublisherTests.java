@@ -0,0 +1,149 @@
+package com.sblogjava.service;
+
+import com.sblogjava.Dto.ArticleDto;
+import com.sblogjava.Dto.ArticlePageResult;
+import com.sblogjava.Dto.ArticleSummaryDto;
+import com.sblogjava.dao.Article;
+import com.sblogjava.dao.ArticleRepository;
+import com.sblogjava.dao.Category;
+import com.sblogjava.dao.CategoryRepository;
+import com.sblogjava.dao.TagRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 静态快照发布测试
+ */
+class SnapshotPublisherTests {
+
+    @TempDir
+    Path snapshotDir;
+
+    private final ArticleService articleService = mock(ArticleService.class);
+
+    private final ArticleRepository articleRepository = mock(ArticleRepository.class);
+
+    private final CategoryRepository categoryRepository = mock(CategoryRepository.class);
+
+    private SnapshotPublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        publisher = new SnapshotPublisher();
+        ReflectionTestUtils.setField(publisher, "articleService", articleService);
+        ReflectionTestUtils.setField(publisher, "articleRepository", articleRepository);
+        ReflectionTestUtils.setField(publisher, "categoryRepository", categoryRepository);
+        ReflectionTestUtils.setField(publisher, "tagRepository", mock(TagRepository.class));
+        ReflectionTestUtils.setField(publisher, "enabled", true);
+        ReflectionTestUtils.setField(publisher, "snapshotPath", snapshotDir.toString());
+        ReflectionTestUtils.setField(publisher, "urlPrefix", "/snapshots");
+        ReflectionTestUtils.setField(publisher, "pageSize", 10);
+
+        Category category = new Category();
+        category.setId(5L);
+        category.setName("分类");
+        when(categoryRepository.findById(5L)).thenReturn(Optional.of(category));
+        when(articleService.getArticles(eq(1), eq(10), eq("published"), any())).thenReturn(page());
+        when(articleService.getArticlesByCategoryAndTag(eq(1), eq(10), eq("published"), eq(5L), any())).thenReturn(page());
+    }
+
+    @Test
+    void publishedArticleIsWrittenWithItsListPages() throws IOException {
+        published(1L);
+
+        publisher.articleChanged(1L, null, null);
+        publisher.flush();
+
+        assertTrue(Files.readString(snapshotDir.resolve("articles/1.html")).contains("<p>正文</p>"));
+        assertTrue(Files.exists(snapshotDir.resolve("articles/1.json")));
+        assertTrue(Files.exists(snapshotDir.resolve("index.html")));
+        // 文章当前所属的分类页一并生成
+        assertTrue(Files.exists(snapshotDir.resolve("categories/5.html")));
+    }
+
+    @Test
+    void unpublishedArticleSnapshotIsRemoved() {
+        published(1L);
+        publisher.articleChanged(1L, null, null);
+        publisher.flush();
+
+        when(articleRepository.existsByIdAndStatus(1L, Article.ArticleStatus.PUBLISHED)).thenReturn(false);
+        publisher.articleChanged(1L, 5L, null);
+        publisher.flush();
+
+        assertFalse(Files.exists(snapshotDir.resolve("articles/1.html")));
+        assertFalse(Files.exists(snapshotDir.resolve("articles/1.json")));
+        assertTrue(Files.exists(snapshotDir.resolve("categories/5.html")));
+    }
+
+    @Test
+    void failedPagesKeepSnapshotAndAreRetried() throws IOException {
+        published(1L);
+        published(2L);
+        publisher.articleChanged(1L, null, null);
+        publisher.flush();
+
+        // 数据库暂时不可用：原快照保留，其余页面照常生成
+        when(articleService.getPublishedById(1L)).thenThrow(new RuntimeException("timeout"));
+        when(articleService.getArticles(eq(1), eq(10), eq("published"), any())).thenThrow(new RuntimeException("timeout"));
+        Files.delete(snapshotDir.resolve("categories/5.html"));
+        publisher.articleChanged(1L, null, null);
+        publisher.articleChanged(2L, null, null);
+        publisher.flush();
+
+        assertTrue(Files.exists(snapshotDir.resolve("articles/1.html")));
+        assertTrue(Files.exists(snapshotDir.resolve("articles/2.html")));
+        assertTrue(Files.exists(snapshotDir.resolve("categories/5.html")));
+
+        // 恢复后重试失败的页面，不需要再次修改文章
+        Files.delete(snapshotDir.resolve("index.html"));
+        doReturn(article(1L, "新标题")).when(articleService).getPublishedById(1L);
+        doReturn(page()).when(articleService).getArticles(eq(1), eq(10), eq("published"), any());
+        publisher.flush();
+
+        assertTrue(Files.readString(snapshotDir.resolve("articles/1.html")).contains("新标题"));
+        assertTrue(Files.exists(snapshotDir.resolve("index.html")));
+    }
+
+    private void published(Long id) {
+        when(articleRepository.existsByIdAndStatus(id, Article.ArticleStatus.PUBLISHED)).thenReturn(true);
+        when(articleService.getPublishedById(id)).thenReturn(article(id, "标题" + id));
+    }
+
+    private static ArticleDto article(Long id, String title) {
+        ArticleDto article = new ArticleDto();
+        article.setId(id);
+        article.setTitle(title);
+        article.setStatus("published");
+        article.setContentHtml("<p>正文</p>");
+        article.setCategoryId(5L);
+        article.setCategoryName("分类");
+        return article;
+    }
+
+    private static ArticlePageResult page() {
+        ArticleSummaryDto summary = new ArticleSummaryDto();
+        summary.setId(1L);
+        summary.setTitle("标题1");
+        ArticlePageResult result = new ArticlePageResult();
+        result.setTotal(1L);
+        result.setList(List.of(summary));
+        return result;
+    }
+}
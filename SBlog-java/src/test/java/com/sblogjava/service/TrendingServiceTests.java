@@ -0,0 +1,55 @@
+package com.sblogjava.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 热门文章统计测试
+ */
+class TrendingServiceTests {
+
+    @Test
+    void articlesAreRankedByRecentHits() {
+        TrendingService service = new TrendingService(10);
+        for (int i = 0; i < 3; i++) {
+            service.record(2L);
+        }
+        service.record(1L);
+        service.record(3L);
+        service.record(3L);
+
+        assertEquals(List.of(2L, 3L, 1L), service.getTopArticles(TrendingService.Window.DAY, 10));
+        assertEquals(List.of(2L), service.getTopArticles(TrendingService.Window.WEEK, 1));
+    }
+
+    @Test
+    void concurrentHitsAreNotLost() throws InterruptedException {
+        TrendingService service = new TrendingService(10);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            executor.execute(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    service.record(i % 4 == 0 ? 2L : 1L);
+                    if (i % 1000 == 0) {
+                        service.fold();
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        // 每一次访问都计入，没有丢失或重复
+        assertEquals(Map.of(1L, 60_000L, 2L, 20_000L),
+                service.countHits(TrendingService.Window.DAY, System.currentTimeMillis()));
+        assertEquals(List.of(1L, 2L), service.getTopArticles(TrendingService.Window.DAY, 10));
+    }
+}
@@ -0,0 +1,118 @@
+package com.sblogjava.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.HyperLogLogOperations;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * 独立访客统计测试：Redis 管道写入与进程内估计器降级
+ */
+@SuppressWarnings("unchecked")
+class UniqueVisitorServiceTests {
+
+    private final RedisTemplate<String, Object> redisTemplate = mock(RedisTemplate.class);
+
+    // 管道内执行命令的 operations
+    private final RedisOperations<String, Object> pipeline = mock(RedisOperations.class);
+
+    private final HyperLogLogOperations<String, Object> hyperLogLog = mock(HyperLogLogOperations.class);
+
+    private final UniqueVisitorService uniqueVisitorService = new UniqueVisitorService();
+
+    private final String todayKey = "uv:day:" + LocalDate.now().format(DateTimeFormatter.BASIC_ISO_DATE);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(uniqueVisitorService, "redisTemplate", redisTemplate);
+        ReflectionTestUtils.setField(uniqueVisitorService, "dayRetentionDays", 30);
+        ReflectionTestUtils.setField(uniqueVisitorService, "redisRetryInterval", 60_000L);
+        ReflectionTestUtils.setField(uniqueVisitorService, "maxLocalSketches", 10);
+        when(pipeline.opsForHyperLogLog()).thenReturn(hyperLogLog);
+        when(redisTemplate.executePipelined(any(SessionCallback.class))).thenAnswer(invocation -> {
+            invocation.<SessionCallback<Object>>getArgument(0).execute(pipeline);
+            return List.of();
+        });
+    }
+
+    @Test
+    void recordSendsOnePipelineAndSetsDayExpiryOnce() {
+        uniqueVisitorService.record(1L, "10.0.0.1");
+        uniqueVisitorService.record(2L, "10.0.0.2");
+
+        verify(redisTemplate, times(2)).executePipelined(any(SessionCallback.class));
+        verify(hyperLogLog).add(todayKey, "10.0.0.1");
+        verify(hyperLogLog).add("uv:article:1", "10.0.0.1");
+        verify(hyperLogLog).add("uv:article:2", "10.0.0.2");
+        verify(pipeline, times(1)).expire(todayKey, 30, TimeUnit.DAYS);
+    }
+
+    @Test
+    void redisFailureFallsBackToLocalSketches() {
+        doThrow(new RedisConnectionFailureException("连接失败"))
+                .when(redisTemplate).executePipelined(any(SessionCallback.class));
+        for (int i = 0; i < 50; i++) {
+            uniqueVisitorService.record(1L, "10.0.0." + i);
+            // 重复访问不增加独立访客数
+            uniqueVisitorService.record(1L, "10.0.0." + i);
+        }
+
+        // 失败后在重试间隔内不再访问 Redis
+        verify(redisTemplate, times(1)).executePipelined(any(SessionCallback.class));
+        assertEquals(50, uniqueVisitorService.getDailyUniqueVisitors(LocalDate.now()));
+        assertEquals(50, uniqueVisitorService.getArticleUniqueVisitors(1L));
+        assertEquals(50, uniqueVisitorService.getUniqueVisitors(7));
+        assertEquals(0, uniqueVisitorService.getArticleUniqueVisitors(2L));
+        verifyNoInteractions(hyperLogLog);
+    }
+
+    @Test
+    void countUsesLargerOfRedisAndLocalEstimates() {
+        doThrow(new RedisConnectionFailureException("连接失败"))
+                .when(redisTemplate).executePipelined(any(SessionCallback.class));
+        for (int i = 0; i < 5; i++) {
+            uniqueVisitorService.record(1L, "10.0.0." + i);
+        }
+        // Redis 恢复后，两边的数据取较大值
+        ReflectionTestUtils.setField(uniqueVisitorService, "redisRetryAt", 0L);
+        HyperLogLogOperations<String, Object> redisHyperLogLog = mock(HyperLogLogOperations.class);
+        when(redisTemplate.opsForHyperLogLog()).thenReturn(redisHyperLogLog);
+        when(redisHyperLogLog.size(anyString())).thenReturn(3L);
+        assertEquals(5, uniqueVisitorService.getArticleUniqueVisitors(1L));
+        when(redisHyperLogLog.size(anyString())).thenReturn(8L);
+        assertEquals(8, uniqueVisitorService.getArticleUniqueVisitors(1L));
+    }
+
+    @Test
+    void localSketchCountIsBounded() {
+        doThrow(new RedisConnectionFailureException("连接失败"))
+                .when(redisTemplate).executePipelined(any(SessionCallback.class));
+        // 每篇文章一个估计器，加上当天的一个，上限为 10
+        for (long articleId = 1; articleId <= 20; articleId++) {
+            uniqueVisitorService.record(articleId, "10.0.0.1");
+        }
+        assertEquals(10, ((Map<?, ?>) ReflectionTestUtils.getField(uniqueVisitorService, "localSketches")).size());
+        assertEquals(1, uniqueVisitorService.getArticleUniqueVisitors(9L));
+        assertEquals(0, uniqueVisitorService.getArticleUniqueVisitors(10L));
+    }
+}
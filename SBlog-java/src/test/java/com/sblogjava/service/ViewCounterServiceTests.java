@@ -0,0 +1,65 @@
+package com.sblogjava.service;
+
+import com.sblogjava.dao.ArticleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 浏览量计数测试
+ */
+class ViewCounterServiceTests {
+
+    private final ArticleRepository articleRepository = mock(ArticleRepository.class);
+
+    private ViewCounterService viewCounterService;
+
+    @BeforeEach
+    void setUp() {
+        viewCounterService = new ViewCounterService();
+        ReflectionTestUtils.setField(viewCounterService, "articleRepository", articleRepository);
+        ReflectionTestUtils.setField(viewCounterService, "dailyStatsService", mock(DailyStatsService.class));
+        ReflectionTestUtils.setField(viewCounterService, "dashboardStreamService", mock(DashboardStreamService.class));
+    }
+
+    @Test
+    void pendingViewsStayVisibleWhileFlushing() {
+        for (int i = 0; i < 3; i++) {
+            viewCounterService.increment(1L);
+        }
+        // 回写进行中读取时，增量仍然计入；回写期间的新访问留到下一次
+        long[] duringFlush = new long[1];
+        when(articleRepository.addViews(anyInt(), any())).thenAnswer(invocation -> {
+            viewCounterService.increment(1L);
+            duringFlush[0] = viewCounterService.getPending(1L);
+            return 1;
+        });
+
+        viewCounterService.flush();
+
+        assertEquals(4, duringFlush[0]);
+        verify(articleRepository).addViews(3, List.of(1L));
+        assertEquals(1, viewCounterService.getPending(1L));
+    }
+
+    @Test
+    void failedFlushKeepsViews() {
+        viewCounterService.increment(1L);
+        viewCounterService.increment(1L);
+        when(articleRepository.addViews(anyInt(), any())).thenThrow(new RuntimeException("db"));
+
+        viewCounterService.flush();
+
+        assertEquals(2, viewCounterService.getPending(1L));
+        assertEquals(2, viewCounterService.getPendingTotal());
+    }
+}
@@ -0,0 +1,121 @@
+package com.sblogjava.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 访问日志服务测试：队列满时丢弃、按批次写入
+ */
+class VisitLogServiceTests {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+
+    private final DailyStatsService dailyStatsService = mock(DailyStatsService.class);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final VisitLogService visitLogService = new VisitLogService();
+
+    // 每次 batchUpdate 收到的批次大小
+    private final List<Integer> batchSizes = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(visitLogService, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(visitLogService, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(visitLogService, "dailyStatsService", dailyStatsService);
+        ReflectionTestUtils.setField(visitLogService, "bufferSize", 8);
+        ReflectionTestUtils.setField(visitLogService, "batchSize", 3);
+        ReflectionTestUtils.setField(visitLogService, "ipSalt", "test");
+        visitLogService.init();
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class)))
+                .thenAnswer(invocation -> {
+                    batchSizes.add(invocation.<Collection<?>>getArgument(1).size());
+                    return new int[0][];
+                });
+    }
+
+    @Test
+    void fullBufferDropsAndCountsEvents() {
+        for (int i = 0; i < 10; i++) {
+            record("/article/" + i);
+        }
+        assertEquals(2, counter("visit_log.dropped"));
+
+        visitLogService.flush();
+        assertEquals(List.of(3, 3, 2), batchSizes);
+        assertEquals(8, counter("visit_log.written"));
+    }
+
+    @Test
+    void flushWritesInBatchesAndCountsDailyVisits() {
+        for (int i = 0; i < 7; i++) {
+            record("/");
+        }
+        visitLogService.flush();
+
+        assertEquals(List.of(3, 3, 1), batchSizes);
+        assertEquals(7, counter("visit_log.written"));
+        assertEquals(0, counter("visit_log.dropped"));
+        LocalDate today = LocalDate.now();
+        verify(dailyStatsService, times(2)).addVisits(Map.of(today, 3L));
+        verify(dailyStatsService).addVisits(Map.of(today, 1L));
+
+        // 队列已清空，再次 flush 不写入
+        visitLogService.flush();
+        assertEquals(3, batchSizes.size());
+    }
+
+    @Test
+    void failedBatchIsDroppedAndLaterBatchesStillWritten() {
+        doThrow(new RuntimeException("数据库不可用")).doAnswer(invocation -> {
+            batchSizes.add(invocation.<Collection<?>>getArgument(1).size());
+            return new int[0][];
+        }).when(jdbcTemplate).batchUpdate(anyString(), anyCollection(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class));
+        for (int i = 0; i < 5; i++) {
+            record("/");
+        }
+        visitLogService.flush();
+
+        assertEquals(List.of(2), batchSizes);
+        assertEquals(3, counter("visit_log.dropped"));
+        assertEquals(2, counter("visit_log.written"));
+        verify(dailyStatsService, never()).addVisits(Map.of(LocalDate.now(), 3L));
+    }
+
+    private void record(String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr("10.0.0.1");
+        request.addHeader("User-Agent", "Mozilla/5.0");
+        visitLogService.record(path, request);
+    }
+
+    private double counter(String name) {
+        return meterRegistry.counter(name).count();
+    }
+}
@@ -0,0 +1,46 @@
+package com.sblogjava.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 布隆过滤器测试
+ */
+class BloomFilterTests {
+
+    @Test
+    void addedValuesAreAlwaysFound() {
+        BloomFilter filter = new BloomFilter(10_000, 0.001);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put(HashUtil.hash64("item-" + i));
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain(HashUtil.hash64("item-" + i)));
+        }
+    }
+
+    @Test
+    void falsePositiveRateStaysNearTarget() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put(HashUtil.hash64("item-" + i));
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain(HashUtil.hash64("other-" + i))) {
+                falsePositives++;
+            }
+        }
+        // 目标 1%，留出余量
+        assertTrue(falsePositives < 2_000, "误判数: " + falsePositives);
+    }
+
+    @Test
+    void emptyFilterContainsNothing() {
+        BloomFilter filter = new BloomFilter(100, 0.001);
+        assertFalse(filter.mightContain(HashUtil.hash64("")));
+        assertFalse(filter.mightContain(0L));
+    }
+}
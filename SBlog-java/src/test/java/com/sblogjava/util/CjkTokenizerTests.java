@@ -0,0 +1,35 @@
+package com.sblogjava.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 中文二元组分词测试
+ */
+class CjkTokenizerTests {
+
+    @Test
+    void cjkTextIsSplitIntoBigrams() {
+        assertEquals(List.of("全文", "文检", "检索"), CjkTokenizer.tokenize("全文检索"));
+        // 单个汉字作为一个词
+        assertEquals(List.of("文"), CjkTokenizer.tokenize("文"));
+    }
+
+    @Test
+    void latinWordsAreLowerCasedAndSplitOnPunctuation() {
+        assertEquals(List.of("spring", "boot", "4", "0"), CjkTokenizer.tokenize("Spring-Boot 4.0"));
+        assertEquals(List.of("使用", "java", "开发"), CjkTokenizer.tokenize("使用Java开发"));
+    }
+
+    @Test
+    void indexingAddsUnigrams() {
+        List<String> tokens = CjkTokenizer.tokenize("检索", true);
+        assertEquals(List.of("检", "索", "检索"), tokens);
+        assertTrue(CjkTokenizer.tokenize(null).isEmpty());
+        assertTrue(CjkTokenizer.tokenize("！？", true).isEmpty());
+    }
+}
@@ -0,0 +1,71 @@
+package com.sblogjava.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * HyperLogLog 基数估计测试
+ */
+class HyperLogLogTests {
+
+    @Test
+    void emptyAndSmallCardinalitiesAreNearExact() {
+        HyperLogLog sketch = new HyperLogLog();
+        assertEquals(0, sketch.cardinality());
+        for (int i = 0; i < 100; i++) {
+            sketch.add("10.0.0." + i);
+        }
+        // 小基数走线性计数，几乎没有误差
+        assertTrue(Math.abs(sketch.cardinality() - 100) <= 2, "估计值 " + sketch.cardinality());
+    }
+
+    @Test
+    void duplicatesDoNotChangeTheEstimate() {
+        HyperLogLog sketch = new HyperLogLog();
+        for (int i = 0; i < 5000; i++) {
+            sketch.add("visitor-" + i);
+        }
+        long estimate = sketch.cardinality();
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < 5000; i++) {
+                sketch.add("visitor-" + i);
+            }
+        }
+        assertEquals(estimate, sketch.cardinality());
+    }
+
+    @Test
+    void largeCardinalityStaysWithinErrorBound() {
+        HyperLogLog sketch = new HyperLogLog();
+        int n = 200_000;
+        for (int i = 0; i < n; i++) {
+            sketch.add("visitor-" + i);
+        }
+        // 标准误差约 1.6%，按 3 倍标准误差检查
+        double error = Math.abs(sketch.cardinality() - n) / (double) n;
+        assertTrue(error < 0.05, "相对误差 " + error);
+    }
+
+    @Test
+    void mergeEstimatesTheUnion() {
+        HyperLogLog first = new HyperLogLog();
+        HyperLogLog second = new HyperLogLog();
+        HyperLogLog all = new HyperLogLog();
+        // 两个集合各 30000 个元素，重叠 10000 个
+        for (int i = 0; i < 30_000; i++) {
+            first.add("visitor-" + i);
+            all.add("visitor-" + i);
+        }
+        for (int i = 20_000; i < 50_000; i++) {
+            second.add("visitor-" + i);
+            all.add("visitor-" + i);
+        }
+        first.merge(second);
+        // 合并后的寄存器与直接添加全部元素完全相同
+        assertEquals(all.cardinality(), first.cardinality());
+        double error = Math.abs(first.cardinality() - 50_000) / 50_000.0;
+        assertTrue(error < 0.05, "相对误差 " + error);
+    }
+}
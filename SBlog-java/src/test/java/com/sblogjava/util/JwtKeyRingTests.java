@@ -0,0 +1,100 @@
+package com.sblogjava.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyStore;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * JWT 密钥环测试：按 kid 查找密钥、密钥库加载和密钥轮换
+ */
+class JwtKeyRingTests {
+
+    private static final String KEY1 = secret(1);
+    private static final String KEY2 = secret(2);
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void keyRingLooksUpKeysByKid() {
+        JwtKeyRing ring = keyRing("k1:" + KEY1 + ",k2:" + KEY2, "");
+        // 未指定时使用最后配置的密钥
+        assertEquals("k2", ring.getActiveKid());
+        assertEquals(ring.getKey("k2"), ring.getActiveKey());
+        assertNotNull(ring.getKey("k1"));
+        assertNull(ring.getKey("k3"));
+        assertNull(ring.getKey(null));
+    }
+
+    @Test
+    void invalidKeyConfigurationIsRejected() {
+        assertThrows(IllegalStateException.class, () -> keyRing("k1:" + KEY1, "k2"));
+        assertThrows(IllegalStateException.class,
+                () -> keyRing("k1:" + Base64.getEncoder().encodeToString(new byte[16]), ""));
+        assertThrows(IllegalStateException.class, () -> keyRing("k1", ""));
+    }
+
+    @Test
+    void keystoreAliasesBecomeKids() throws Exception {
+        char[] password = "changeit".toCharArray();
+        KeyStore keyStore = KeyStore.getInstance("PKCS12");
+        keyStore.load(null, password);
+        keyStore.setEntry("ks1",
+                new KeyStore.SecretKeyEntry(new SecretKeySpec(Base64.getDecoder().decode(KEY1), "HmacSHA256")),
+                new KeyStore.PasswordProtection(password));
+        Path file = tempDir.resolve("jwt.p12");
+        try (OutputStream out = Files.newOutputStream(file)) {
+            keyStore.store(out, password);
+        }
+
+        // 密钥库中的密钥与配置的密钥合并
+        JwtKeyRing ring = new JwtKeyRing("k2:" + KEY2, file.toString(), "changeit", "PKCS12", "ks1");
+        assertEquals("ks1", ring.getActiveKid());
+        assertArrayEquals(Base64.getDecoder().decode(KEY1), ring.getActiveKey().getEncoded());
+        assertNotNull(ring.getKey("k2"));
+
+        assertThrows(IllegalStateException.class,
+                () -> new JwtKeyRing("", file.toString(), "wrong", "PKCS12", ""));
+    }
+
+    @Test
+    void tokensSignedWithPreviousKeyStillVerifyAfterRotation() {
+        String oldToken = new JwtUtil(keyRing("k1:" + KEY1, ""), 100).generateToken(1L, "a", "USER", "s1");
+
+        // 加入新密钥并切换签发密钥，旧密钥只用于验证
+        JwtKeyRing rotated = keyRing("k1:" + KEY1 + ",k2:" + KEY2, "k2");
+        JwtUtil jwtUtil = new JwtUtil(rotated, 100);
+        assertNotNull(jwtUtil.parseToken(oldToken));
+        String newToken = jwtUtil.generateToken(1L, "a", "USER", "s2");
+        assertNotNull(jwtUtil.parseToken(newToken));
+
+        // 移除旧密钥后，旧 Token 失效
+        JwtUtil withoutOldKey = new JwtUtil(keyRing("k2:" + KEY2, ""), 100);
+        assertNull(withoutOldKey.parseToken(oldToken));
+        assertNotNull(withoutOldKey.parseToken(newToken));
+    }
+
+    private static JwtKeyRing keyRing(String keys, String activeKid) {
+        return new JwtKeyRing(keys, "", "", "PKCS12", activeKid);
+    }
+
+    private static String secret(int seed) {
+        byte[] bytes = new byte[32];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) (seed * 31 + i);
+        }
+        return Base64.getEncoder().encodeToString(bytes);
+    }
+}
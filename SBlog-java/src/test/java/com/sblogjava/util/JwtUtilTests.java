@@ -0,0 +1,84 @@
+package com.sblogjava.util;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.Test;
+
+import java.util.Base64;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * JWT 签发、验证和已验证 Claims 缓存测试
+ */
+class JwtUtilTests {
+
+    private static final String KEY1 = secret(1);
+
+    @Test
+    void generatedTokenIsParsed() {
+        JwtUtil jwtUtil = new JwtUtil(keyRing("k1:" + KEY1, ""), 100);
+        String token = jwtUtil.generateToken(7L, "admin", "ADMIN", "s1");
+
+        Claims claims = jwtUtil.parseToken(token);
+        assertEquals(7L, claims.get("userId", Long.class));
+        assertEquals("admin", jwtUtil.getUsernameFromToken(token));
+        assertEquals("ADMIN", jwtUtil.getRoleFromToken(token));
+        assertEquals("s1", claims.getId());
+        assertNull(jwtUtil.parseToken(token + "x"));
+    }
+
+    @Test
+    void verifiedClaimsAreCachedPerTokenWithBoundedSize() {
+        JwtUtil jwtUtil = new JwtUtil(keyRing("k1:" + KEY1, ""), 1);
+        String first = jwtUtil.generateToken(1L, "a", "USER", "s1");
+        String second = jwtUtil.generateToken(2L, "b", "USER", "s2");
+
+        // 同一 Token 再次解析直接返回缓存的结果
+        Claims claims = jwtUtil.parseToken(first);
+        assertSame(claims, jwtUtil.parseToken(first));
+
+        // 超出容量后淘汰最久未使用的 Token，重新验证后仍然有效
+        jwtUtil.parseToken(second);
+        Claims reparsed = jwtUtil.parseToken(first);
+        assertNotSame(claims, reparsed);
+        assertEquals(1L, reparsed.get("userId", Long.class));
+    }
+
+    @Test
+    void cachedClaimsExpireWithToken() throws InterruptedException {
+        JwtKeyRing ring = keyRing("k1:" + KEY1, "");
+        JwtUtil jwtUtil = new JwtUtil(ring, 100);
+        // Token 的过期时间精确到秒
+        long expiresAt = (System.currentTimeMillis() / 1000 + 2) * 1000;
+        String token = Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, "k1")
+                .setSubject("a")
+                .setExpiration(new Date(expiresAt))
+                .signWith(ring.getActiveKey())
+                .compact();
+
+        assertNotNull(jwtUtil.parseToken(token));
+        Thread.sleep(expiresAt - System.currentTimeMillis() + 50);
+        // 缓存中的结果同样到期失效
+        assertNull(jwtUtil.parseToken(token));
+    }
+
+    private static JwtKeyRing keyRing(String keys, String activeKid) {
+        return new JwtKeyRing(keys, "", "", "PKCS12", activeKid);
+    }
+
+    private static String secret(int seed) {
+        byte[] bytes = new byte[32];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) (seed * 31 + i);
+        }
+        return Base64.getEncoder().encodeToString(bytes);
+    }
+}
@@ -0,0 +1,106 @@
+package com.sblogjava.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 多生产者单消费者环形队列测试
+ */
+class MpscRingBufferTests {
+
+    @Test
+    void capacityRoundsUpToPowerOfTwo() {
+        assertEquals(8, new MpscRingBuffer<Integer>(5).capacity());
+        assertEquals(8, new MpscRingBuffer<Integer>(8).capacity());
+        assertEquals(16, new MpscRingBuffer<Integer>(9).capacity());
+    }
+
+    @Test
+    void offerFailsWhenFullUntilDrained() {
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(i));
+        }
+        assertFalse(buffer.offer(4));
+        assertEquals(4, buffer.size());
+
+        List<Integer> drained = new ArrayList<>();
+        assertEquals(1, buffer.drainTo(drained, 1));
+        assertTrue(buffer.offer(4));
+        assertFalse(buffer.offer(5));
+    }
+
+    @Test
+    void drainStopsAtMaxAndKeepsOrderAcrossBatches() {
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(8);
+        // 写满两轮，覆盖下标回绕
+        List<Integer> drained = new ArrayList<>();
+        for (int round = 0; round < 2; round++) {
+            for (int i = 0; i < 7; i++) {
+                assertTrue(buffer.offer(round * 7 + i));
+            }
+            assertEquals(3, buffer.drainTo(drained, 3));
+            assertEquals(3, buffer.drainTo(drained, 3));
+            assertEquals(1, buffer.drainTo(drained, 3));
+            assertEquals(0, buffer.drainTo(drained, 3));
+        }
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 14; i++) {
+            expected.add(i);
+        }
+        assertEquals(expected, drained);
+        assertEquals(0, buffer.size());
+    }
+
+    @Test
+    void concurrentProducersLoseAndDuplicateNothing() throws Exception {
+        int producers = 4;
+        int perProducer = 50_000;
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(256);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int base = p * perProducer;
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    // 队列满时重试，保证每个元素最终都被放入
+                    while (!buffer.offer(base + i)) {
+                        Thread.onSpinWait();
+                    }
+                }
+            }));
+        }
+
+        // 当前线程作为唯一消费者，与生产者并发取出
+        boolean[] seen = new boolean[producers * perProducer];
+        List<Integer> batch = new ArrayList<>();
+        int received = 0;
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (received < seen.length && System.nanoTime() < deadline) {
+            buffer.drainTo(batch, 64);
+            for (int value : batch) {
+                assertFalse(seen[value], "重复取出 " + value);
+                seen[value] = true;
+                received++;
+            }
+            batch.clear();
+        }
+        for (Future<?> future : futures) {
+            future.get(5, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertEquals(seen.length, received);
+        assertEquals(0, buffer.drainTo(batch, 64));
+    }
+}
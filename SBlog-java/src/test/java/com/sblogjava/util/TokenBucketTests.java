@@ -0,0 +1,65 @@
+package com.sblogjava.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 令牌桶测试
+ */
+class TokenBucketTests {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void allowsBurstThenReportsWaitTime() {
+        // 10 秒补满 5 个令牌：每 2 秒一个
+        TokenBucket bucket = new TokenBucket(5, 10 * SECOND, 0);
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, bucket.tryAcquire(0));
+        }
+        assertEquals(2 * SECOND, bucket.tryAcquire(0));
+        assertEquals(SECOND, bucket.tryAcquire(SECOND));
+        assertEquals(0, bucket.tryAcquire(2 * SECOND));
+    }
+
+    @Test
+    void refillsUpToCapacity() {
+        TokenBucket bucket = new TokenBucket(2, 2 * SECOND, 0);
+        assertTrue(bucket.isFull(0));
+        bucket.tryAcquire(0);
+        assertFalse(bucket.isFull(0));
+        assertTrue(bucket.isFull(100 * SECOND));
+
+        // 长时间空闲后也只能突发 capacity 次
+        assertEquals(0, bucket.tryAcquire(100 * SECOND));
+        assertEquals(0, bucket.tryAcquire(100 * SECOND));
+        assertTrue(bucket.tryAcquire(100 * SECOND) > 0);
+    }
+
+    @Test
+    void concurrentAcquiresNeverExceedCapacity() throws InterruptedException {
+        TokenBucket bucket = new TokenBucket(1000, 3600 * SECOND, 0);
+        AtomicInteger granted = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            executor.execute(() -> {
+                for (int i = 0; i < 500; i++) {
+                    if (bucket.tryAcquire(0) == 0) {
+                        granted.incrementAndGet();
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        assertEquals(1000, granted.get());
+    }
+}